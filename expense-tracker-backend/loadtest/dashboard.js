@@ -0,0 +1,87 @@
+// k6 load test: dashboard reads plus a trickle of logins.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e MODE=platform loadtest/dashboard.js
+//
+// Run once with VIRTUAL_THREADS_ENABLED=false and once with =true and compare
+// http_reqs (throughput) and the p(99) of http_req_duration in the summary.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'unknown';
+const USERS = parseInt(__ENV.USERS || '20', 10);
+const PASSWORD = 'loadtest-password';
+
+export const options = {
+    scenarios: {
+        dashboard: {
+            executor: 'ramping-vus',
+            exec: 'dashboard',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 200 },
+                { duration: '2m', target: 1000 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+        logins: {
+            executor: 'constant-arrival-rate',
+            exec: 'login',
+            rate: 20,
+            timeUnit: '1s',
+            duration: '3m',
+            preAllocatedVUs: 50,
+        },
+    },
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+    tags: { mode: MODE },
+};
+
+function email(i) {
+    return `loadtest-${i}@example.com`;
+}
+
+function post(path, body, token) {
+    const headers = { 'Content-Type': 'application/json' };
+    if (token) {
+        headers.Authorization = `Bearer ${token}`;
+    }
+    return http.post(`${BASE_URL}${path}`, JSON.stringify(body), { headers });
+}
+
+export function setup() {
+    const tokens = [];
+    for (let i = 0; i < USERS; i++) {
+        // 409 when the user already exists from a previous run
+        post('/api/auth/register', { username: `loadtest${i}`, email: email(i), password: PASSWORD });
+        const res = post('/api/auth/login', { email: email(i), password: PASSWORD });
+        const token = res.json('token');
+        for (let t = 0; t < 5; t++) {
+            post('/api/transactions', {
+                title: `Seed ${t}`,
+                amount: 10 + t,
+                type: 'EXPENSE',
+                category: 'FOOD',
+                date: '2025-01-15',
+            }, token);
+        }
+        tokens.push(token);
+    }
+    return { tokens };
+}
+
+export function dashboard(data) {
+    const token = data.tokens[__VU % data.tokens.length];
+    const params = { headers: { Authorization: `Bearer ${token}` } };
+    const responses = http.batch([
+        ['GET', `${BASE_URL}/api/report/summary`, null, params],
+        ['GET', `${BASE_URL}/api/report/by-category`, null, params],
+        ['GET', `${BASE_URL}/api/transactions?limit=5`, null, params],
+    ]);
+    responses.forEach((res) => check(res, { 'status is 200': (r) => r.status === 200 }));
+}
+
+export function login() {
+    const res = post('/api/auth/login', { email: email(Math.floor(Math.random() * USERS)), password: PASSWORD });
+    check(res, { 'login ok': (r) => r.status === 200 });
+}
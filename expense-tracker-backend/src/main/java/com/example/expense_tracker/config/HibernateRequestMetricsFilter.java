@@ -0,0 +1,87 @@
+package com.example.expense_tracker.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Publishes {@link HibernateRequestStatistics} per request as distribution summaries
+ * tagged with the matched URI template, e.g. {@code hibernate.request.statements{uri="/api/transactions"}}.
+ *
+ * <p>Read endpoints return column projections with Open-Session-In-View off, so a GET
+ * that loads an entity or exceeds the statement budget has reintroduced a lazy load or
+ * an N+1 query; it is logged and counted in {@code hibernate.request.budget.exceeded}.</p>
+ *
+ * <p>The budget is enforced by {@code ReadQueryBudgetTest}, which fails the build; this
+ * filter only watches for regressions on paths and data the test does not cover.</p>
+ */
+@Slf4j
+@Component
+public class HibernateRequestMetricsFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.hibernate.read-statement-budget:3}")
+    private long readStatementBudget;
+
+    @PostConstruct
+    void registerLoadListener() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> HibernateRequestStatistics.entityLoaded());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        HibernateRequestStatistics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            HibernateRequestStatistics.Counts counts = HibernateRequestStatistics.end();
+            // Only requests that reached a handler, so the uri tag stays bounded
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String uri) {
+                record("hibernate.request.statements", "JDBC statements and batches executed", uri, counts.statements());
+                record("hibernate.request.entity.loads", "Entities loaded", uri, counts.entityLoads());
+                record("hibernate.request.flushes", "Session flushes", uri, counts.flushes());
+                if ("GET".equals(request.getMethod())
+                        && (counts.entityLoads() > 0 || counts.statements() > readStatementBudget)) {
+                    meterRegistry.counter("hibernate.request.budget.exceeded", "uri", uri).increment();
+                    log.warn("GET {} ran {} statements and loaded {} entities (budget {} statements, no entities)",
+                            uri, counts.statements(), counts.entityLoads(), readStatementBudget);
+                }
+            }
+        }
+    }
+
+    private void record(String name, String description, String uri, long value) {
+        DistributionSummary.builder(name)
+                .description(description + " per request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(value);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.expense_tracker.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Per-request Hibernate counters. Hibernate's own statistics are global totals,
+ * so statements, entity loads and flushes are attributed to the request running on
+ * the current thread instead. Registered for every session through
+ * {@code hibernate.session.events.auto}; work outside a request is not counted.
+ */
+public class HibernateRequestStatistics implements SessionEventListener {
+
+    public static final class Counts {
+        private long statements;
+        private long entityLoads;
+        private long flushes;
+
+        public long statements() {
+            return statements;
+        }
+
+        public long entityLoads() {
+            return entityLoads;
+        }
+
+        public long flushes() {
+            return flushes;
+        }
+    }
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    public static void begin() {
+        CURRENT.set(new Counts());
+    }
+
+    public static Counts end() {
+        Counts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts;
+    }
+
+    static void entityLoaded() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.flushes++;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.expense_tracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write splitting, active when {@code app.datasource.replicas} lists at least one
+ * replica URL. The primary pool is still configured by {@code spring.datasource.*};
+ * each replica gets its own read-only pool with the same credentials unless
+ * {@code app.datasource.replica.username/password} are set.
+ *
+ * <p>{@code @Transactional(readOnly = true)} service methods are the read path; any
+ * other work, including non-transactional repository calls, uses the primary.</p>
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replicas:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(@Value("${app.datasource.replica.sticky-window:5s}") Duration window) {
+        return new ReadYourWrites(window);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            DataSourceProperties properties,
+            ReadYourWrites readYourWrites,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replicas}") List<String> urls,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password,
+            @Value("${app.datasource.replica.pool-size:10}") int poolSize,
+            @Value("${app.datasource.replica.max-lag:1s}") Duration maxLag,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${app.db.permit-timeout-ms:2000}") long permitTimeoutMillis) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            replica.setPassword(password.isEmpty() ? properties.determinePassword() : password);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // Built here rather than as beans, so apply the virtual-thread connection limit directly
+            replicas.add(virtualThreads
+                    ? new ConnectionLimitingDataSource(replica, poolSize, permitTimeoutMillis)
+                    : replica);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWrites, maxLag);
+        for (ReplicaRoutingDataSource.Replica replica : routing.replicas()) {
+            Gauge.builder("db.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag at the last check in seconds; NaN when unreachable")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+        return routing;
+    }
+
+    // Defers the routing decision to the first statement, when the read-only flag is set
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.expense_tracker.config;
+
+import com.example.expense_tracker.event.TransactionChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Users who committed a write within the last {@code window}. Their read-only work stays
+ * on the primary meanwhile, so a client never reads back data older than its own write
+ * from a lagging replica. Kept per application instance.
+ */
+public class ReadYourWrites {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    // AFTER_COMMIT (the default) and synchronous: recorded before the write's response is sent
+    @TransactionalEventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        recentWriters.put(event.userId(), Boolean.TRUE);
+    }
+
+    public boolean recentlyWrote(Long userId) {
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+}
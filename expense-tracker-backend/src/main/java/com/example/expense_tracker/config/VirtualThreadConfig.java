@@ -0,0 +1,34 @@
+package com.example.expense_tracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Back-pressure for the virtual-thread execution mode ({@code spring.threads.virtual.enabled=true}).
+ *
+ * <p>With virtual threads Tomcat no longer caps concurrency at its worker pool, so thousands of
+ * requests can reach the connection pool at once. The Hikari pool is wrapped in a
+ * {@link ConnectionLimitingDataSource} whose permits equal the pool size.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        long acquireTimeoutMillis = environment.getProperty("app.db.permit-timeout-ms", Long.class, 2000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new ConnectionLimitingDataSource(hikari, hikari.getMaximumPoolSize(), acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -3,11 +3,15 @@ package com.example.expense_tracker.controller;
 import com.example.expense_tracker.entity.User;
 import com.example.expense_tracker.repository.UserRepository;
 import com.example.expense_tracker.security.JwtUtil;
+import com.example.expense_tracker.security.LoginThrottle;
+import com.example.expense_tracker.security.PasswordHasher;
 import com.example.expense_tracker.service.AuthService;
+import com.example.expense_tracker.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -20,38 +24,57 @@ public class AuthController {
     @Autowired
     private AuthService authService;
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private UserService userService;
+    @Autowired
+    private PasswordHasher passwordHasher;
+    @Autowired
+    private LoginThrottle loginThrottle;
     @Autowired
     private JwtUtil jwtUtil;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
 
     @PostMapping("/register")
-    public ResponseEntity<String> registerUser(@RequestBody Map<String, String> body) {
+    public ResponseEntity<String> registerUser(@RequestBody Map<String, String> body, HttpServletRequest request) {
         String username = body.get("username");
         String email = body.get("email");
-        String password = passwordEncoder.encode(body.get("password"));
 
+        loginThrottle.acquire(request.getRemoteAddr(), null);
         if(userRepository.existsByEmail(email)) {
             return new ResponseEntity<>("Email Already Exists", HttpStatus.CONFLICT);
         }
+        String password = passwordHasher.encode(body.get("password"));
         authService.register(User.builder().username(username).email(email).password(password).build());
         return new ResponseEntity<>("Successfully Registered", HttpStatus.CREATED);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@RequestBody Map<String, String> body) {
+    public ResponseEntity<?> loginUser(@RequestBody Map<String, String> body, HttpServletRequest request) {
         String email = body.get("email");
         String password = body.get("password");
 
-        var userOptional = userRepository.findByEmail(email);
+        // Throttled before the lookup and before any hashing. The remote address is the
+        // forwarded client address behind a trusted proxy (server.forward-headers-strategy)
+        loginThrottle.acquire(request.getRemoteAddr(), email);
+
+        var userOptional = userService.getUserByEmail(email);
         if(userOptional.isEmpty()){
             return new ResponseEntity<>("User not Registered", HttpStatus.UNAUTHORIZED);
         }
         User user = userOptional.get();
-        if(!passwordEncoder.matches(password, user.getPassword())){
+        // BCrypt is deliberately slow; this is where login latency goes. It runs on the
+        // bounded hashing pool, so includes any queueing there.
+        boolean matches = meterRegistry.timer("auth.password.match")
+                .record(() -> passwordHasher.matches(password, user.getPassword()));
+        if(!matches){
             return new ResponseEntity<>("Invalid User", HttpStatus.UNAUTHORIZED);
         }
-        String token = jwtUtil.generateToken(email);
+        if (passwordHasher.needsUpgrade(user.getPassword())) {
+            Long userId = user.getId();
+            passwordHasher.upgradeLater(password, hash -> userRepository.updatePassword(userId, hash));
+        }
+        String token = jwtUtil.generateToken(user.getId(), email);
         return ResponseEntity.ok(Map.of("token", token));
     }
 }
@@ -0,0 +1,52 @@
+package com.example.expense_tracker.controller;
+
+import com.example.expense_tracker.dto.BudgetRequest;
+import com.example.expense_tracker.dto.BudgetStatus;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.security.AuthenticatedUser;
+import com.example.expense_tracker.service.BudgetService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Threshold alerts (80% / 100%) arrive on the event stream as "budget-alert"
+@RestController
+@RequestMapping("/api/budgets")
+public class BudgetController {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @GetMapping
+    public ResponseEntity<List<BudgetStatus>> getBudgets(AuthenticatedUser user) {
+        return ResponseEntity.ok(budgetService.getBudgets(user.id()));
+    }
+
+    @PutMapping("/{category}")
+    public ResponseEntity<BudgetStatus> setBudget(AuthenticatedUser user,
+                                                  @PathVariable TransactionCategory category,
+                                                  @RequestBody BudgetRequest budgetReq) {
+        try {
+            return ResponseEntity.ok(budgetService.setBudget(user.id(), category, budgetReq.limitMinor()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @DeleteMapping("/{category}")
+    public ResponseEntity<Void> deleteBudget(AuthenticatedUser user, @PathVariable TransactionCategory category) {
+        if (!budgetService.deleteBudget(user.id(), category)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
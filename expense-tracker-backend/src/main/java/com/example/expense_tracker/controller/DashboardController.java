@@ -0,0 +1,34 @@
+package com.example.expense_tracker.controller;
+
+import com.example.expense_tracker.dto.Dashboard;
+import com.example.expense_tracker.security.AuthenticatedUser;
+import com.example.expense_tracker.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private static final int MAX_RECENT = 50;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @GetMapping
+    public ResponseEntity<Dashboard> getDashboard(AuthenticatedUser user, @RequestParam(defaultValue = "5") int recent) {
+        Dashboard dashboard = dashboardService.getDashboard(user.id(), Math.max(1, Math.min(recent, MAX_RECENT)));
+
+        // Partial results are still useful; only a dashboard with nothing in it is an error
+        if (dashboard.summary() == null && dashboard.byCategory() == null
+                && dashboard.trend() == null && dashboard.recent() == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(dashboard);
+        }
+        return ResponseEntity.ok(dashboard);
+    }
+}
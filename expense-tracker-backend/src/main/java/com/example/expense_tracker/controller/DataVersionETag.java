@@ -0,0 +1,73 @@
+package com.example.expense_tracker.controller;
+
+import com.example.expense_tracker.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for per-user data. The strong ETag is the user's change sequence,
+ * which every transaction write advances, so a current copy is confirmed with one
+ * primary-key lookup on users and the transactions table is never touched. It also
+ * carries today's date, since recurring occurrences come due without a write.
+ *
+ * <p>The version and the body are read in one read-only transaction, so on the same
+ * connection: a lagging replica serves an older body under its own older tag, never
+ * under the primary's current one.</p>
+ */
+@Component
+class DataVersionETag {
+
+    // Browsers may keep the body but must revalidate it; shared caches must not store it
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Sets the validators and returns null when the client's copy is current (the
+     * response is then already a 304), otherwise the response built by {@code body}.
+     * The version is read before the data, so a write in between yields a stale tag
+     * (a later 200), never a stale body under a current tag.
+     *
+     * <p>Exceptions from {@code body} must be left to propagate (the transaction is then
+     * rolled back) and mapped by the controller. Catching one inside {@code body} turns the
+     * 400 into a 500: a {@code @Transactional} service method that threw has already
+     * marked this shared transaction rollback-only, so the commit fails.</p>
+     */
+    <T> ResponseEntity<T> respond(Long userId, ServletWebRequest request, Supplier<ResponseEntity<T>> body) {
+        return respond(userId, null, request, body);
+    }
+
+    /**
+     * As above, for responses that also depend on something other than the data, e.g. a
+     * date range defaulted from today; {@code variant} must not contain quotes.
+     */
+    <T> ResponseEntity<T> respond(Long userId, String variant, ServletWebRequest request,
+                                  Supplier<ResponseEntity<T>> body) {
+        // Set up front so the 304 carries it too, and Spring Security's no-store default is skipped
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        // The service transactions of the body join this one
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return readOnlyTransaction.execute(status -> {
+            // The user id keeps tags distinct across accounts sharing one browser cache
+            String version = userId + "-" + userService.getChangeSeq(userId) + "-" + LocalDate.now();
+            String tag = "\"" + (variant == null ? version : version + "-" + variant) + "\"";
+            return request.checkNotModified(tag) ? null : body.get();
+        });
+    }
+}
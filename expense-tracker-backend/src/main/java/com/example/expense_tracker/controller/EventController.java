@@ -0,0 +1,24 @@
+package com.example.expense_tracker.controller;
+
+import com.example.expense_tracker.event.EventStreamRegistry;
+import com.example.expense_tracker.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+    @Autowired
+    private EventStreamRegistry eventStreamRegistry;
+
+    // EventSource cannot send headers, so JWTFilter also accepts ?access_token= on this path
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(AuthenticatedUser user) {
+        return eventStreamRegistry.subscribe(user.id());
+    }
+}
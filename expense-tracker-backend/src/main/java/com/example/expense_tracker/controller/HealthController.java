@@ -1,13 +1,27 @@
 package com.example.expense_tracker.controller;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 public class HealthController {
 
+    @Autowired
+    private HealthEndpoint healthEndpoint;
+
+    // Readiness probe: the actuator readiness group, which includes the datasource check
     @GetMapping("/health")
-    public String health() {
-        return "OK"; 
+    public ResponseEntity<HealthComponent> health() {
+        HealthComponent readiness = healthEndpoint.healthForPath("readiness");
+        HttpStatus status = readiness != null && Status.UP.equals(readiness.getStatus())
+                ? HttpStatus.OK
+                : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(readiness);
     }
 }
@@ -0,0 +1,110 @@
+package com.example.expense_tracker.controller;
+
+import com.example.expense_tracker.dto.RecurringRuleRequest;
+import com.example.expense_tracker.dto.RecurringRuleView;
+import com.example.expense_tracker.dto.TransactionPatch;
+import com.example.expense_tracker.entity.Transaction;
+import com.example.expense_tracker.security.AuthenticatedUser;
+import com.example.expense_tracker.service.RecurringRuleNotFoundException;
+import com.example.expense_tracker.service.RecurringRules;
+import com.example.expense_tracker.service.RecurringService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Occurrences appear in the transaction listing, reports and export with a ruleId and no id
+@RestController
+@RequestMapping("/api/recurring")
+public class RecurringController {
+
+    @Autowired
+    private RecurringService recurringService;
+
+    @Autowired
+    private RecurringRules recurringRules;
+
+    @GetMapping
+    public ResponseEntity<List<RecurringRuleView>> getRules(AuthenticatedUser user) {
+        return ResponseEntity.ok(recurringRules.getRules(user.id()));
+    }
+
+    @PostMapping
+    public ResponseEntity<RecurringRuleView> createRule(AuthenticatedUser user, @RequestBody RecurringRuleRequest ruleReq) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(recurringService.createRule(user.id(), ruleReq));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @PutMapping("/{ruleId}")
+    public ResponseEntity<RecurringRuleView> updateRule(AuthenticatedUser user, @PathVariable Long ruleId,
+                                                        @RequestBody RecurringRuleRequest ruleReq) {
+        try {
+            return ResponseEntity.ok(recurringService.updateRule(user.id(), ruleId, ruleReq));
+        } catch (RecurringRuleNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @DeleteMapping("/{ruleId}")
+    public ResponseEntity<String> deleteRule(AuthenticatedUser user, @PathVariable Long ruleId) {
+        try {
+            recurringService.deleteRule(user.id(), ruleId);
+        } catch (RecurringRuleNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>("Recurring rule deleted successfully", HttpStatus.OK);
+    }
+
+    // Confirm as is (no body) or edit (body as for PATCH /api/transactions/{id}): stores the occurrence
+    @PostMapping("/{ruleId}/occurrences/{date}")
+    public ResponseEntity<Transaction> materialize(
+            AuthenticatedUser user,
+            @PathVariable Long ruleId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestBody(required = false) TransactionPatch changes) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(recurringService.materialize(user.id(), ruleId, date, changes));
+        } catch (RecurringRuleNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (DataIntegrityViolationException e) {
+            // Confirmed concurrently by another request
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @DeleteMapping("/{ruleId}/occurrences/{date}")
+    public ResponseEntity<Void> skip(AuthenticatedUser user, @PathVariable Long ruleId,
+                                     @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            recurringService.skip(user.id(), ruleId, date);
+        } catch (RecurringRuleNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (DataIntegrityViolationException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
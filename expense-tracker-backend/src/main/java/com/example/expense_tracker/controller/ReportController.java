@@ -1,56 +1,79 @@
 package com.example.expense_tracker.controller;
 
-import com.example.expense_tracker.entity.User;
+import com.example.expense_tracker.dto.TrendGroupBy;
+import com.example.expense_tracker.dto.TrendInterval;
+import com.example.expense_tracker.dto.TrendReport;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.security.AuthenticatedUser;
 import com.example.expense_tracker.service.ReportService;
-import com.example.expense_tracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/report")
 public class ReportController {
 
+    private static final int DEFAULT_TREND_DAYS = 30;
+
     @Autowired
     private ReportService reportService;
 
     @Autowired
-    private UserService userService;
+    private DataVersionETag dataVersionETag;
 
     @GetMapping("/summary")
-    public ResponseEntity<Map<String, Double>> getSummary(){
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        Optional<User> userOptional = userService.getUserByEmail(email);
-
-        if(userOptional.isEmpty()){
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
-
-        Long userId = userOptional.get().getId();
-        Map<String, Double> summary = reportService.getSummary(userId);
-
-        return ResponseEntity.ok(summary);
+    public ResponseEntity<Map<String, BigDecimal>> getSummary(AuthenticatedUser user, ServletWebRequest request){
+        return dataVersionETag.respond(user.id(), request,
+                () -> ResponseEntity.ok(reportService.getSummary(user.id())));
     }
 
     @GetMapping("/by-category")
-    public ResponseEntity<Map<String, Double>> getByCategory() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        Optional<User> userOptional = userService.getUserByEmail(email);
+    public ResponseEntity<Map<TransactionCategory, BigDecimal>> getByCategory(AuthenticatedUser user, ServletWebRequest request) {
+        return dataVersionETag.respond(user.id(), request,
+                () -> ResponseEntity.ok(reportService.getTotalByCategory(user.id())));
+    }
 
-        if (userOptional.isEmpty()) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    // Defaults to the last 30 days in daily buckets, by type
+    @GetMapping("/trend")
+    public ResponseEntity<TrendReport> getTrend(
+            AuthenticatedUser user,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String bucket,
+            @RequestParam(defaultValue = "type") String groupBy,
+            ServletWebRequest request) {
+        TrendInterval interval;
+        TrendGroupBy grouping;
+        try {
+            interval = TrendInterval.valueOf(bucket.toUpperCase(Locale.ROOT));
+            grouping = TrendGroupBy.valueOf(groupBy.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_TREND_DAYS - 1);
 
-        Long userId = userOptional.get().getId();
-        Map<String, Double> categoryTotals = reportService.getTotalByCategory(userId);
+        // The resolved range is part of the tag: a defaulted window moves with the calendar
+        return dataVersionETag.respond(user.id(), start + "-" + end, request,
+                () -> ResponseEntity.ok(reportService.getTrend(user.id(), start, end, interval, grouping)));
+    }
 
-        return ResponseEntity.ok(categoryTotals);
+    // A bad trend range in a conditional read; see DataVersionETag#respond
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> badRequest() {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
     }
 }
@@ -1,121 +1,235 @@
 package com.example.expense_tracker.controller;
 
+import com.example.expense_tracker.dto.ImportResult;
+import com.example.expense_tracker.dto.TransactionChanges;
+import com.example.expense_tracker.dto.TransactionFilter;
+import com.example.expense_tracker.dto.TransactionPage;
+import com.example.expense_tracker.dto.TransactionPatch;
+import com.example.expense_tracker.dto.TransactionView;
 import com.example.expense_tracker.entity.Transaction;
-import com.example.expense_tracker.entity.User;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+import com.example.expense_tracker.security.AuthenticatedUser;
+import com.example.expense_tracker.service.CsvTransactionReader;
+import com.example.expense_tracker.service.ImportAbortedException;
+import com.example.expense_tracker.service.JsonTransactionReader;
+import com.example.expense_tracker.service.TransactionExportService;
+import com.example.expense_tracker.service.TransactionImportService;
+import com.example.expense_tracker.service.TransactionNotFoundException;
+import com.example.expense_tracker.service.TransactionRowReader;
 import com.example.expense_tracker.service.TransactionService;
 import com.example.expense_tracker.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("api/transactions")
 public class TransactionController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_CHANGES_PAGE_SIZE = 1000;
+
     @Autowired
     private TransactionService transactionService;
 
     @Autowired
     private UserService userService;
 
-    @GetMapping
-    public ResponseEntity<List<Transaction>> getAllTransactionsForUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-
-        Optional<User> userOptional = userService.getUserByEmail(email);
+    @Autowired
+    private TransactionImportService importService;
 
-        if (userOptional.isPresent()) {
-            Long userId = userOptional.get().getId();
-            List<Transaction> transactions = transactionService.getAllTransaction(userId);
+    @Autowired
+    private TransactionExportService exportService;
 
-            return ResponseEntity.ok(transactions);
-        }
+    @Autowired
+    private ObjectMapper objectMapper;
 
+    @Autowired
+    private DataVersionETag dataVersionETag;
 
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(List.of());
+    @GetMapping
+    public ResponseEntity<TransactionPage<TransactionView>> getAllTransactionsForUser(
+            AuthenticatedUser user,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) TransactionCategory category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            ServletWebRequest request) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        TransactionFilter filter = new TransactionFilter(from, to, type, category);
+
+        return dataVersionETag.respond(user.id(), request,
+                () -> ResponseEntity.ok(transactionService.getTransactionPage(user.id(), filter, cursor, pageSize)));
     }
 
-    @GetMapping("/{transactionId}")
-    public ResponseEntity<Transaction> getTransactionById(@PathVariable Long transactionId) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        Optional<User> userOptional = userService.getUserByEmail(email);
+    @GetMapping("/search")
+    public ResponseEntity<TransactionPage<TransactionView>> searchTransactions(
+            AuthenticatedUser user,
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            ServletWebRequest request) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        return dataVersionETag.respond(user.id(), request,
+                () -> ResponseEntity.ok(transactionService.searchTransactions(user.id(), q, cursor, pageSize)));
+    }
 
-        if (userOptional.isEmpty()) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            AuthenticatedUser user,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        TransactionExportService.Format exportFormat;
+        try {
+            exportFormat = TransactionExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
 
-        Long userId = userOptional.get().getId();
+        Long userId = user.id();
+        StreamingResponseBody body = out -> exportService.export(userId, from, to, exportFormat, out);
+        boolean csv = exportFormat == TransactionExportService.Format.CSV;
 
-        Optional<Transaction> transaction = transactionService.getTransactionByIdAndUserId(transactionId, userId);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
 
-        if (transaction.isPresent()) {
-            return new ResponseEntity<>(transaction.get(), HttpStatus.OK);
-        }
+    // Delta sync: pass the highWaterMark of the previous response as since (0 for a full sync)
+    @GetMapping("/changes")
+    public ResponseEntity<TransactionChanges> getChanges(
+            AuthenticatedUser user,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "" + MAX_CHANGES_PAGE_SIZE) int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_PAGE_SIZE));
+        return ResponseEntity.ok(transactionService.getChangesSince(user.id(), since, pageSize));
+    }
+
+    @GetMapping("/{transactionId}")
+    public ResponseEntity<TransactionView> getTransactionById(AuthenticatedUser user, @PathVariable Long transactionId,
+                                                          ServletWebRequest request) {
+        return dataVersionETag.respond(user.id(), request, () -> {
+            Optional<TransactionView> transaction = transactionService.getTransactionByIdAndUserId(transactionId, user.id());
 
-        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            if (transaction.isPresent()) {
+                return new ResponseEntity<>(transaction.get(), HttpStatus.OK);
+            }
+
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        });
     }
 
     @PostMapping
-    public ResponseEntity<Transaction> createTransaction(@RequestBody Transaction transactionReq) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        Optional<User> userOptional = userService.getUserByEmail(email);
+    public ResponseEntity<Transaction> createTransaction(AuthenticatedUser user, @RequestBody Transaction transactionReq) {
+        // Reference proxy: sets users_id without loading the user row
+        transactionReq.setUser(userService.getUserReference(user.id()));
 
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            transactionReq.setUser(user);
+        Transaction savedTransaction = transactionService.saveTransaction(transactionReq);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedTransaction); // ✅ Return actual object
+    }
 
-            Transaction savedTransaction = transactionService.saveTransaction(transactionReq);
 
-            return ResponseEntity.status(HttpStatus.CREATED).body(savedTransaction); // ✅ Return actual object
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportResult> importJson(AuthenticatedUser user, HttpServletRequest request) throws IOException {
+        try (TransactionRowReader reader = new JsonTransactionReader(objectMapper, request.getInputStream())) {
+            return ResponseEntity.ok(importService.importTransactions(user.id(), reader));
+        } catch (ImportAbortedException e) {
+            // Earlier chunks are committed; the body says how far the import got
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getResult());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
+    }
+
+    @PostMapping(value = "/batch", consumes = "text/csv")
+    public ResponseEntity<ImportResult> importCsv(AuthenticatedUser user, HttpServletRequest request) throws IOException {
+        return importCsv(user.id(), request.getInputStream());
+    }
 
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResult> importCsvFile(AuthenticatedUser user, @RequestParam("file") MultipartFile file) throws IOException {
+        return importCsv(user.id(), file.getInputStream());
     }
 
+    private ResponseEntity<ImportResult> importCsv(Long userId, InputStream in) throws IOException {
+        try (TransactionRowReader reader = new CsvTransactionReader(in)) {
+            return ResponseEntity.ok(importService.importTransactions(userId, reader));
+        } catch (ImportAbortedException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getResult());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
 
     @PutMapping("/{transactionId}")
     public ResponseEntity<Transaction> updateTransaction(
+            AuthenticatedUser user,
             @PathVariable Long transactionId,
-            @RequestBody Transaction transactionReq) {
-
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        Optional<User> userOptional = userService.getUserByEmail(email);
-
-        if (userOptional.isEmpty()) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
-
-        User user = userOptional.get();
+            @RequestBody TransactionPatch transactionReq) {
+        return update(user.id(), transactionId, transactionReq, false);
+    }
 
-        transactionReq.setId(transactionId);
-        transactionReq.setUser(user);
+    @PatchMapping("/{transactionId}")
+    public ResponseEntity<Transaction> patchTransaction(
+            AuthenticatedUser user,
+            @PathVariable Long transactionId,
+            @RequestBody TransactionPatch changes) {
+        return update(user.id(), transactionId, changes, true);
+    }
 
+    private ResponseEntity<Transaction> update(Long userId, Long transactionId, TransactionPatch changes, boolean partial) {
         try {
-            Transaction updated = transactionService.editTransaction(transactionReq);
+            Transaction updated = transactionService.updateTransaction(userId, transactionId, changes, partial);
             return new ResponseEntity<>(updated, HttpStatus.OK);
-        } catch (RuntimeException e) {
+        } catch (TransactionNotFoundException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
 
     @DeleteMapping("/{transactionId}")
-    public ResponseEntity<String> deleteTransaction(@PathVariable Long transactionId) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        Optional<User> userOptional = userService.getUserByEmail(email);
-
-        if (userOptional.isEmpty()) {
-            return new ResponseEntity<>("User not found", HttpStatus.NOT_FOUND);
+    public ResponseEntity<String> deleteTransaction(AuthenticatedUser user, @PathVariable Long transactionId) {
+        try {
+            transactionService.deleteTransactionByIdAndUserId(transactionId, user.id());
+        } catch (TransactionNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
-        Long userId = userOptional.get().getId();
-
-        transactionService.deleteTransactionByIdAndUserId(transactionId, userId);
+        return new ResponseEntity<>("Transaction deleted successfully", HttpStatus.OK);
+    }
 
-        return new ResponseEntity<>("Transaction deleted successfully (if existed)", HttpStatus.OK);
+    // A bad cursor or query in a conditional read; see DataVersionETag#respond
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> badRequest() {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
     }
 }
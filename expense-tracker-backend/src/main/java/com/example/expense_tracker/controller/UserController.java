@@ -1,10 +1,9 @@
 package com.example.expense_tracker.controller;
 
-import com.example.expense_tracker.entity.User;
+import com.example.expense_tracker.dto.UserView;
+import com.example.expense_tracker.security.AuthenticatedUser;
 import com.example.expense_tracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -18,9 +17,7 @@ public class UserController {
     private UserService userService;
 
     @GetMapping("/me")
-    public Optional<User> getCurrentUser(){
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String email = auth.getName();
-        return userService.getUserByEmail(email);
+    public Optional<UserView> getCurrentUser(AuthenticatedUser user){
+        return userService.getUserById(user.id());
     }
 }
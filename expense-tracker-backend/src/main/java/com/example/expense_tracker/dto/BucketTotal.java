@@ -0,0 +1,15 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+
+import java.time.LocalDate;
+
+/**
+ * Sum (in cents) of one (bucket, type, category) group of a trend query.
+ */
+public record BucketTotal(LocalDate bucketStart,
+                          TransactionType type,
+                          TransactionCategory category,
+                          long total) {
+}
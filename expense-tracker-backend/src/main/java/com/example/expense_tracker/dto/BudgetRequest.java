@@ -0,0 +1,22 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * Request body of {@code PUT /api/budgets/{category}}: the monthly limit.
+ */
+public record BudgetRequest(BigDecimal limit) {
+
+    public BudgetRequest {
+        // Fail while binding the request, so a limit with too many decimals is a 400
+        if (limit != null) {
+            Money.toMinor(limit);
+        }
+    }
+
+    public Long limitMinor() {
+        return limit == null ? null : Money.toMinor(limit);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.TransactionCategory;
+
+/**
+ * A budget joined with the month's spending in its category, both in cents.
+ */
+public record BudgetSpend(Long userId, TransactionCategory category, long limitMinor, long spentMinor) {
+}
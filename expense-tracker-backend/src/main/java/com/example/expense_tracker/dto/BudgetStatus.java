@@ -0,0 +1,26 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.Money;
+import com.example.expense_tracker.entity.TransactionCategory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A budget and how much of it the month has used so far.
+ */
+public record BudgetStatus(TransactionCategory category,
+                           LocalDate month,
+                           BigDecimal limit,
+                           BigDecimal spent,
+                           int percent) {
+
+    public static BudgetStatus of(LocalDate month, TransactionCategory category, long limitMinor, long spentMinor) {
+        return new BudgetStatus(category, month, Money.toDecimal(limitMinor), Money.toDecimal(spentMinor),
+                percentOf(spentMinor, limitMinor));
+    }
+
+    public static int percentOf(long spentMinor, long limitMinor) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, spentMinor) * 100 / limitMinor);
+    }
+}
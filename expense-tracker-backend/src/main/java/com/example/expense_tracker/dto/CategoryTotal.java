@@ -0,0 +1,9 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.TransactionCategory;
+
+/**
+ * Aggregate row of {@code SUM(amount) GROUP BY category}, in cents.
+ */
+public record CategoryTotal(TransactionCategory category, Long total) {
+}
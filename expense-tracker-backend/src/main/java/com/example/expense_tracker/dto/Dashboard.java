@@ -0,0 +1,18 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.TransactionCategory;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the dashboard shows, in one response. A part that failed or missed the
+ * deadline is null and named in {@code unavailable}; the rest is still returned.
+ */
+public record Dashboard(Map<String, BigDecimal> summary,
+                        Map<TransactionCategory, BigDecimal> byCategory,
+                        List<TrendPoint> trend,
+                        List<TransactionView> recent,
+                        List<String> unavailable) {
+}
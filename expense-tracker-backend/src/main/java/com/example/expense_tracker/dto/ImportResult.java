@@ -0,0 +1,13 @@
+package com.example.expense_tracker.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Only the first rejected rows are itemised in
+ * {@code errors}; {@code failed} always counts all of them.
+ */
+public record ImportResult(int imported, int failed, List<RowError> errors) {
+
+    public record RowError(int row, String message) {
+    }
+}
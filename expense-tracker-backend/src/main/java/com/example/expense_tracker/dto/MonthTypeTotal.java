@@ -0,0 +1,11 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.TransactionType;
+
+import java.time.LocalDate;
+
+/**
+ * Aggregate row of {@code SUM(total) GROUP BY month, type} over the rollups, in cents.
+ */
+public record MonthTypeTotal(LocalDate monthStart, TransactionType type, Long total) {
+}
@@ -0,0 +1,37 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.Money;
+import com.example.expense_tracker.entity.RecurrenceFrequency;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Request body of POST and PUT {@code /api/recurring}. {@code every} defaults to 1, e.g.
+ * {@code WEEKLY} every 2 is fortnightly; a null {@code endDate} repeats indefinitely.
+ * {@code version} works as for transactions.
+ */
+public record RecurringRuleRequest(String title,
+                                   BigDecimal amount,
+                                   TransactionType type,
+                                   TransactionCategory category,
+                                   String note,
+                                   RecurrenceFrequency frequency,
+                                   Integer every,
+                                   LocalDate startDate,
+                                   LocalDate endDate,
+                                   Long version) {
+
+    public RecurringRuleRequest {
+        // Fail while binding the request, so an amount with too many decimals is a 400
+        if (amount != null) {
+            Money.toMinor(amount);
+        }
+    }
+
+    public Long amountMinor() {
+        return amount == null ? null : Money.toMinor(amount);
+    }
+}
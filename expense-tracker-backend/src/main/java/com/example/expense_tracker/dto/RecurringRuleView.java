@@ -0,0 +1,125 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.Money;
+import com.example.expense_tracker.entity.RecurrenceFrequency;
+import com.example.expense_tracker.entity.RecurringRule;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Read-side projection of a recurring rule together with the dates of its skipped or
+ * materialized occurrences, and the schedule arithmetic over it.
+ *
+ * <p>Occurrences exist from the start date through the end date, but never after
+ * {@code today}: a rule produces what is due, not a forecast. Locating an occurrence is
+ * constant time, so counting or listing the occurrences of a range costs the same
+ * whether the rule started last month or ten years ago.</p>
+ */
+public record RecurringRuleView(Long id,
+                                String title,
+                                @JsonIgnore long amountMinor,
+                                TransactionType type,
+                                TransactionCategory category,
+                                String note,
+                                RecurrenceFrequency frequency,
+                                int every,
+                                LocalDate startDate,
+                                LocalDate endDate,
+                                Long version,
+                                NavigableSet<LocalDate> exceptions) {
+
+    // Used by the JPQL constructor expression: one row per (rule, exception), null when
+    // the rule has none; the rows of a rule are folded with withExceptions
+    public RecurringRuleView(Long id, String title, long amountMinor, TransactionType type,
+                             TransactionCategory category, String note, RecurrenceFrequency frequency, int every,
+                             LocalDate startDate, LocalDate endDate, Long version, LocalDate exception) {
+        this(id, title, amountMinor, type, category, note, frequency, every, startDate, endDate, version,
+                exception == null ? Collections.emptyNavigableSet()
+                        : Collections.unmodifiableNavigableSet(new TreeSet<>(List.of(exception))));
+    }
+
+    public static RecurringRuleView of(RecurringRule rule) {
+        return new RecurringRuleView(rule.getId(), rule.getTitle(), rule.getAmountMinor(), rule.getType(),
+                rule.getCategory(), rule.getNote(), rule.getFrequency(), rule.getRepeatEvery(), rule.getStartDate(),
+                rule.getEndDate(), rule.getVersion(), Collections.emptyNavigableSet());
+    }
+
+    public RecurringRuleView withExceptions(Collection<LocalDate> dates) {
+        return new RecurringRuleView(id, title, amountMinor, type, category, note, frequency, every, startDate,
+                endDate, version, Collections.unmodifiableNavigableSet(new TreeSet<>(dates)));
+    }
+
+    @JsonProperty("amount")
+    public BigDecimal amount() {
+        return Money.toDecimal(amountMinor);
+    }
+
+    public LocalDate occurrence(long index) {
+        return frequency.step(startDate, index * every);
+    }
+
+    // Ignores the end date and exceptions; -1 before the start
+    public long lastIndexOnOrBefore(LocalDate date) {
+        return frequency.lastIndexOnOrBefore(startDate, every, date);
+    }
+
+    public LocalDate lastDate(LocalDate today) {
+        return endDate == null || endDate.isAfter(today) ? today : endDate;
+    }
+
+    /**
+     * Whether the schedule has an occurrence on {@code date}, whether or not it is due
+     * yet or was already skipped or materialized.
+     */
+    public boolean isScheduledOn(LocalDate date) {
+        if (date.isBefore(startDate) || (endDate != null && date.isAfter(endDate))) {
+            return false;
+        }
+        return occurrence(lastIndexOnOrBefore(date)).equals(date);
+    }
+
+    /**
+     * Whether a virtual occurrence is generated on {@code date}.
+     */
+    public boolean occursOn(LocalDate date, LocalDate today) {
+        return !date.isAfter(today) && isScheduledOn(date) && !exceptions.contains(date);
+    }
+
+    /**
+     * Number of virtual occurrences in {@code [from, to]}; null bounds are open. Constant
+     * time plus one step per exception in the range.
+     */
+    public long count(LocalDate from, LocalDate to, LocalDate today) {
+        LocalDate first = from == null || from.isBefore(startDate) ? startDate : from;
+        LocalDate last = to == null || to.isAfter(lastDate(today)) ? lastDate(today) : to;
+        if (first.isAfter(last)) {
+            return 0;
+        }
+        long count = lastIndexOnOrBefore(last) - lastIndexOnOrBefore(first.minusDays(1));
+        for (LocalDate skipped : exceptions.subSet(first, true, last, true)) {
+            // The schedule may have changed since; only dates it still produces were counted
+            if (isScheduledOn(skipped)) {
+                count--;
+            }
+        }
+        return count;
+    }
+
+    public TransactionView toView(LocalDate date) {
+        return new TransactionView(null, title, amountMinor, type, category, date, note, null, 0, id);
+    }
+
+    public TransactionExportRow toExportRow(LocalDate date) {
+        return new TransactionExportRow(null, title, amountMinor, type, category, date, note, id);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+
+import java.time.LocalDate;
+
+/**
+ * A bucket whose stored rollup disagrees with the raw transactions. Totals are in cents.
+ */
+public record RollupDrift(Long userId,
+                          LocalDate monthStart,
+                          TransactionType type,
+                          TransactionCategory category,
+                          long expectedTotal,
+                          long storedTotal,
+                          long expectedCount,
+                          long storedCount) {
+}
@@ -0,0 +1,43 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.Transaction;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+
+import java.time.LocalDate;
+
+/**
+ * One (month, type, category) bucket with its sum (in cents) and row count.
+ */
+public record RollupRow(LocalDate monthStart,
+                        TransactionType type,
+                        TransactionCategory category,
+                        long total,
+                        long count) {
+
+    // Rows without a date are kept in the epoch bucket, matching RollupService
+    public static final LocalDate UNDATED_MONTH = LocalDate.EPOCH;
+
+    /**
+     * The single-row contribution of {@code t} to its bucket.
+     */
+    public static RollupRow of(Transaction t) {
+        return new RollupRow(monthOf(t.getDate()), t.getType(), t.getCategory(), t.getAmountMinor(), 1);
+    }
+
+    public RollupRow plus(RollupRow other) {
+        return new RollupRow(monthStart, type, category, total + other.total, count + other.count);
+    }
+
+    public RollupRow negate() {
+        return new RollupRow(monthStart, type, category, -total, -count);
+    }
+
+    public boolean sameBucket(RollupRow other) {
+        return monthStart.equals(other.monthStart) && type == other.type && category == other.category;
+    }
+
+    public static LocalDate monthOf(LocalDate date) {
+        return date == null ? UNDATED_MONTH : date.withDayOfMonth(1);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.expense_tracker.dto;
+
+/**
+ * A search result with its relevance: above 1 when the query occurs verbatim in the
+ * title or note, otherwise the trigram word similarity of a fuzzy match.
+ */
+public record SearchHit(TransactionView transaction, float score) {
+}
@@ -0,0 +1,14 @@
+package com.example.expense_tracker.dto;
+
+import java.util.List;
+
+/**
+ * Delta since a client's last sync: rows created or updated, ids deleted, and the
+ * change sequence to pass as {@code since} next time. With {@code hasMore} the
+ * client should ask again straight away.
+ */
+public record TransactionChanges(List<TransactionView> upserted,
+                                 List<Long> deleted,
+                                 long highWaterMark,
+                                 boolean hasMore) {
+}
@@ -0,0 +1,33 @@
+package com.example.expense_tracker.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in the (date DESC, id DESC) ordering of a user's transactions.
+ * Encoded as url-safe base64 of "date:id" so clients can pass it back unchanged.
+ */
+public record TransactionCursor(LocalDate date, Long id) {
+
+    public String encode() {
+        String raw = (date == null ? "" : date.toString()) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(':');
+            if (sep < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String datePart = raw.substring(0, sep);
+            LocalDate date = datePart.isEmpty() ? null : LocalDate.parse(datePart);
+            return new TransactionCursor(date, Long.parseLong(raw.substring(sep + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
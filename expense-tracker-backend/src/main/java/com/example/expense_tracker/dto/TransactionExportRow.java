@@ -0,0 +1,30 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.Money;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Column projection streamed by the export; never attached to the persistence context.
+ * Virtual occurrences of recurring rules have no id and carry their {@code ruleId}.
+ */
+public record TransactionExportRow(Long id,
+                                   String title,
+                                   @JsonIgnore long amountMinor,
+                                   TransactionType type,
+                                   TransactionCategory category,
+                                   LocalDate date,
+                                   String note,
+                                   @JsonInclude(JsonInclude.Include.NON_NULL) Long ruleId) {
+
+    @JsonProperty("amount")
+    public BigDecimal amount() {
+        return Money.toDecimal(amountMinor);
+    }
+}
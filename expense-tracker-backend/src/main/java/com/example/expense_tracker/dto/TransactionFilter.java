@@ -0,0 +1,15 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+
+import java.time.LocalDate;
+
+/**
+ * Optional listing filters; a null component means "no restriction".
+ */
+public record TransactionFilter(LocalDate from,
+                                LocalDate to,
+                                TransactionType type,
+                                TransactionCategory category) {
+}
@@ -0,0 +1,9 @@
+package com.example.expense_tracker.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset listing. {@code nextCursor} is null on the last page.
+ */
+public record TransactionPage<T>(List<T> items, String nextCursor) {
+}
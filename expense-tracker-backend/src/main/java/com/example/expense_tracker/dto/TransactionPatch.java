@@ -0,0 +1,33 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.Money;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Request body of PUT (every field is written, nulls included) and PATCH (null
+ * fields are left unchanged). {@code version} is the one the client last read;
+ * when present the write only applies if the row is still at that version.
+ */
+public record TransactionPatch(String title,
+                               BigDecimal amount,
+                               TransactionType type,
+                               TransactionCategory category,
+                               LocalDate date,
+                               String note,
+                               Long version) {
+
+    public TransactionPatch {
+        // Fail while binding the request, so an amount with too many decimals is a 400
+        if (amount != null) {
+            Money.toMinor(amount);
+        }
+    }
+
+    public Long amountMinor() {
+        return amount == null ? null : Money.toMinor(amount);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.Money;
+import com.example.expense_tracker.entity.Transaction;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-side projection of a transaction, with the same JSON shape as the entity.
+ * Selected column by column, so it never holds a lazy association or a connection.
+ *
+ * <p>A virtual occurrence of a recurring rule has no id and carries its {@code ruleId};
+ * it is confirmed or edited through the rule, which turns it into a real row.</p>
+ */
+public record TransactionView(Long id,
+                              String title,
+                              @JsonIgnore long amountMinor,
+                              TransactionType type,
+                              TransactionCategory category,
+                              LocalDate date,
+                              String note,
+                              Long version,
+                              long changeSeq,
+                              @JsonInclude(JsonInclude.Include.NON_NULL) Long ruleId) {
+
+    // Used by the JPQL constructor expressions: stored rows are never virtual
+    public TransactionView(Long id, String title, long amountMinor, TransactionType type,
+                           TransactionCategory category, LocalDate date, String note, Long version, long changeSeq) {
+        this(id, title, amountMinor, type, category, date, note, version, changeSeq, null);
+    }
+
+    public static TransactionView of(Transaction transaction) {
+        return new TransactionView(transaction.getId(), transaction.getTitle(), transaction.getAmountMinor(),
+                transaction.getType(), transaction.getCategory(), transaction.getDate(), transaction.getNote(),
+                transaction.getVersion(), transaction.getChangeSeq());
+    }
+
+    /**
+     * Position in the listing's (date DESC, id DESC) order. Virtual occurrences rank by
+     * the negated rule id, after every stored row of the same date, so one keyset cursor
+     * covers both kinds.
+     */
+    @JsonIgnore
+    public long sortId() {
+        return id != null ? id : -ruleId;
+    }
+
+    @JsonProperty("amount")
+    public BigDecimal amount() {
+        return Money.toDecimal(amountMinor);
+    }
+}
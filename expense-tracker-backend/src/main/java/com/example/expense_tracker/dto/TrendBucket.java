@@ -0,0 +1,11 @@
+package com.example.expense_tracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Totals of one bucket keyed by type or category name; every key is present, zero when empty.
+ */
+public record TrendBucket(LocalDate start, Map<String, BigDecimal> totals) {
+}
@@ -0,0 +1,9 @@
+package com.example.expense_tracker.dto;
+
+/**
+ * What each trend bucket is broken down by.
+ */
+public enum TrendGroupBy {
+    TYPE,
+    CATEGORY
+}
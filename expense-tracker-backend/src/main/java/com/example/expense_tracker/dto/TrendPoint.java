@@ -0,0 +1,10 @@
+package com.example.expense_tracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Income and expense of one month; months without transactions are zero.
+ */
+public record TrendPoint(LocalDate month, BigDecimal income, BigDecimal expense) {
+}
@@ -0,0 +1,15 @@
+package com.example.expense_tracker.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Totals over {@code [from, to]} in consecutive buckets, oldest first. The first and
+ * last bucket start on bucket boundaries but only count days inside the range.
+ */
+public record TrendReport(LocalDate from,
+                          LocalDate to,
+                          TrendInterval bucket,
+                          TrendGroupBy groupBy,
+                          List<TrendBucket> buckets) {
+}
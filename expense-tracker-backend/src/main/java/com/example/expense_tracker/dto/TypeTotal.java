@@ -0,0 +1,9 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.TransactionType;
+
+/**
+ * Aggregate row of {@code SUM(amount) GROUP BY type}, in cents.
+ */
+public record TypeTotal(TransactionType type, Long total) {
+}
@@ -0,0 +1,9 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.Transaction;
+
+/**
+ * Result of an in-place update: the bucket the row counted towards before, and its new state.
+ */
+public record UpdatedTransaction(RollupRow previous, Transaction current) {
+}
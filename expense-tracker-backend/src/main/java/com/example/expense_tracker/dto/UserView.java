@@ -0,0 +1,7 @@
+package com.example.expense_tracker.dto;
+
+/**
+ * The public columns of a user, read without loading the entity.
+ */
+public record UserView(Long id, String username, String email) {
+}
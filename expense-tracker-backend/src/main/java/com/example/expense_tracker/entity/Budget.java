@@ -0,0 +1,25 @@
+package com.example.expense_tracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user's monthly spending limit for one expense category. Spent-to-date is not
+ * stored here: it is the category's EXPENSE bucket in {@link MonthlyRollup}.
+ */
+@Entity
+@Data
+@Table(name = "budgets")
+@AllArgsConstructor
+@NoArgsConstructor
+public class Budget {
+
+    @EmbeddedId
+    private BudgetId id;
+
+    // Cents
+    @Column(name = "limit_minor")
+    private long limitMinor;
+}
@@ -0,0 +1,24 @@
+package com.example.expense_tracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BudgetId implements Serializable {
+
+    @Column(name = "users_id")
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionCategory category;
+}
@@ -0,0 +1,32 @@
+package com.example.expense_tracker.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * Amounts are stored and summed as {@code long} minor units (cents) and only
+ * turned into decimals at the API boundary, so totals are exact.
+ */
+public final class Money {
+
+    // Digits after the decimal point; one currency, so one scale for every amount
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /**
+     * @throws ArithmeticException if {@code amount} has more than {@link #SCALE} decimals
+     *                             or does not fit in a {@code long}
+     */
+    public static long toMinor(BigDecimal amount) {
+        return amount.setScale(SCALE).unscaledValue().longValueExact();
+    }
+
+    public static long parse(String amount) {
+        return toMinor(new BigDecimal(amount));
+    }
+
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.expense_tracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running SUM/COUNT of a user's transactions per (month, type, category).
+ * Maintained incrementally by {@link com.example.expense_tracker.service.RollupService}
+ * in the same database transaction as every transaction write.
+ */
+@Entity
+@Data
+@Table(name = "monthly_rollups")
+@AllArgsConstructor
+@NoArgsConstructor
+public class MonthlyRollup {
+
+    @EmbeddedId
+    private MonthlyRollupId id;
+
+    // Cents
+    @Column(name = "total_minor")
+    private long total;
+
+    @Column(name = "txn_count")
+    private long count;
+}
@@ -0,0 +1,32 @@
+package com.example.expense_tracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MonthlyRollupId implements Serializable {
+
+    @Column(name = "users_id")
+    private Long userId;
+
+    // First day of the month the bucket covers
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType type;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionCategory category;
+}
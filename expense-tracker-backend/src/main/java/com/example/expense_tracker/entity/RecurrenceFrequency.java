@@ -0,0 +1,49 @@
+package com.example.expense_tracker.entity;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Unit of a recurring rule; the rule repeats every {@code every} units from its start.
+ * Month and year steps are always taken from the start date, so a rule starting on the
+ * 31st falls on the last day of shorter months and returns to the 31st afterwards.
+ */
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    YEARLY;
+
+    public LocalDate step(LocalDate start, long units) {
+        return switch (this) {
+            case DAILY -> start.plusDays(units);
+            case WEEKLY -> start.plusWeeks(units);
+            case MONTHLY -> start.plusMonths(units);
+            case YEARLY -> start.plusYears(units);
+        };
+    }
+
+    /**
+     * Index of the last occurrence on or before {@code date}, or -1 if the rule starts
+     * later. Constant time, however far {@code date} is from the start.
+     */
+    public long lastIndexOnOrBefore(LocalDate start, int every, LocalDate date) {
+        if (date.isBefore(start)) {
+            return -1;
+        }
+        long units = switch (this) {
+            case DAILY -> ChronoUnit.DAYS.between(start, date);
+            case WEEKLY -> ChronoUnit.DAYS.between(start, date) / 7;
+            case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(start), YearMonth.from(date));
+            case YEARLY -> date.getYear() - start.getYear();
+        };
+        long index = units / every;
+        // Calendar units are counted per month or year, so the candidate can still fall
+        // later in the month (or year) of date; the one before it is then the answer
+        if (step(start, index * every).isAfter(date)) {
+            index--;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.expense_tracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An occurrence of a {@link RecurringRule} that is no longer generated: skipped, or
+ * materialized as a real transaction.
+ */
+@Entity
+@Data
+@Table(name = "recurring_exceptions")
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecurringException {
+
+    @EmbeddedId
+    private RecurringExceptionId id;
+
+    // Null when the occurrence was skipped
+    @Column(name = "transaction_id")
+    private Long transactionId;
+}
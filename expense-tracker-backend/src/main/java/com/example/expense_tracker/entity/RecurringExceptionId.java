@@ -0,0 +1,23 @@
+package com.example.expense_tracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecurringExceptionId implements Serializable {
+
+    @Column(name = "rule_id")
+    private Long ruleId;
+
+    @Column(name = "occurrence_date")
+    private LocalDate date;
+}
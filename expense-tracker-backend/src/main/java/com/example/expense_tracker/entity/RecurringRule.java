@@ -0,0 +1,65 @@
+package com.example.expense_tracker.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * A transaction that repeats on a schedule. Stored once; its occurrences are generated
+ * when they are read (see {@link com.example.expense_tracker.dto.RecurringRuleView}) and
+ * only written to transactions when confirmed or edited.
+ */
+@Entity
+@Data
+@Table(name = "recurring_rules")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecurringRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurring_rules_seq")
+    @SequenceGenerator(name = "recurring_rules_seq", sequenceName = "recurring_rules_seq", allocationSize = 50)
+    private Long id;
+
+    private String title;
+
+    // Cents
+    @Column(name = "amount_minor")
+    private long amountMinor;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType type;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionCategory category;
+
+    private String note;
+
+    @Enumerated(EnumType.STRING)
+    private RecurrenceFrequency frequency;
+
+    // Repeat every n units of the frequency ("interval" is reserved in PostgreSQL)
+    @Column(name = "repeat_every")
+    private int repeatEvery;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    // Inclusive; null repeats indefinitely
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Version
+    private Long version;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "users_id")
+    private User user;
+}
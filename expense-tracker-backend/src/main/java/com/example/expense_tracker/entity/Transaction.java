@@ -1,28 +1,39 @@
 package com.example.expense_tracker.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.LocalDate;
 import java.util.Date;
 
 @Entity
 @Data
-@Table(name = "transactions" )
+@Table(name = "transactions",
+        indexes = @Index(name = "idx_transactions_user_date_id", columnList = "users_id, date, id"))
+@SQLRestriction("deleted = false")
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class Transaction {
+    // Pooled sequence: one nextval per 50 inserts, which keeps bulk imports batchable
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
     private String title;
 
-    private double amount;
+    // Cents; the API reads and writes the decimal "amount" property below
+    @JsonIgnore
+    @Column(name = "amount_minor")
+    private long amountMinor;
 
     @Enumerated(EnumType.STRING)
     private TransactionType type;
@@ -35,7 +46,33 @@ public class Transaction {
 
     private String note;
 
+    // Bumped by every update; clients send back the one they read to detect concurrent edits
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // Position of this row's last write in the user's change sequence (delta sync)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "change_seq")
+    private long changeSeq;
+
+    // Tombstone: deleted rows are kept so delta sync can report them; hidden from entity queries
+    @JsonIgnore
+    private boolean deleted;
+
+    // Never serialized: it is usually an uninitialized proxy, and clients must not set it
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "users_id")
     private User user;
+
+    @JsonProperty("amount")
+    public BigDecimal getAmount() {
+        return Money.toDecimal(amountMinor);
+    }
+
+    @JsonProperty("amount")
+    public void setAmount(BigDecimal amount) {
+        this.amountMinor = Money.toMinor(amount);
+    }
 }
@@ -0,0 +1,19 @@
+package com.example.expense_tracker.event;
+
+import com.example.expense_tracker.entity.TransactionCategory;
+
+import java.time.LocalDate;
+
+/**
+ * A committed write took the month's spending in a budgeted category across
+ * {@code threshold} percent of the limit. Published by
+ * {@link com.example.expense_tracker.service.BudgetTracker} after the commit, once per
+ * crossing; when a single write crosses both thresholds only the higher one is sent.
+ */
+public record BudgetThresholdEvent(Long userId,
+                                   LocalDate month,
+                                   TransactionCategory category,
+                                   int threshold,
+                                   long spentMinor,
+                                   long limitMinor) {
+}
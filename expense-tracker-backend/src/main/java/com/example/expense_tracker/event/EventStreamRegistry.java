@@ -0,0 +1,199 @@
+package com.example.expense_tracker.event;
+
+import com.example.expense_tracker.dto.BudgetStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-user Server-Sent Event streams ({@code GET /api/events}).
+ *
+ * <p>Publishing never blocks on a client: a committed write only offers a small event
+ * to each subscriber's bounded queue, and a virtual thread per subscriber writes to the
+ * connection. A subscriber whose queue is full is too slow and is disconnected; the
+ * browser reconnects on its own and refetches. When idle, each stream only carries a
+ * heartbeat comment so proxies keep it open.</p>
+ */
+@Slf4j
+@Component
+public class EventStreamRegistry {
+
+    public static final String TRANSACTION_CHANGED = "transaction-changed";
+    public static final String REPORT_INVALIDATED = "report-invalidated";
+    public static final String BUDGET_ALERT = "budget-alert";
+
+    private static final String EMPTY = "{}";
+
+    // Most events only tell the client what to refetch and carry no data of their own
+    private record Message(String name, Object data) {
+    }
+
+    private static final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Thread sender;
+
+        private Subscriber(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    // Reads (every publish) are lock-free; copy-on-write only on connect and disconnect
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.events.buffer-size:16}")
+    private int bufferSize;
+
+    @Value("${app.events.heartbeat:25s}")
+    private Duration heartbeat;
+
+    @Value("${app.events.timeout:30m}")
+    private Duration timeout;
+
+    private Counter droppedCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("sse.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open event streams")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("sse.dropped")
+                .description("Event streams closed because the client fell behind")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, emitter, bufferSize);
+        subscribers.compute(userId, (id, set) -> {
+            Set<Subscriber> target = set == null ? new CopyOnWriteArraySet<>() : set;
+            target.add(subscriber);
+            return target;
+        });
+        subscriberCount.incrementAndGet();
+
+        // Completion also follows timeouts and errors
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscriber.sender = Thread.ofVirtual().name("sse-user-" + userId).start(() -> send(subscriber));
+        return emitter;
+    }
+
+    // Runs after ReportCacheInvalidator, so a client refetching on this event never sees stale totals
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.userId());
+        if (targets == null) {
+            return;
+        }
+        for (Subscriber subscriber : targets) {
+            if (!subscriber.queue.offer(new Message(TRANSACTION_CHANGED, EMPTY))
+                    || !subscriber.queue.offer(new Message(REPORT_INVALIDATED, EMPTY))) {
+                drop(subscriber);
+            }
+        }
+    }
+
+    // Already published after the commit by BudgetTracker
+    @EventListener
+    public void onBudgetThreshold(BudgetThresholdEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.userId());
+        if (targets == null) {
+            return;
+        }
+        Message message = new Message(BUDGET_ALERT, BudgetStatus.of(event.month(), event.category(),
+                event.limitMinor(), event.spentMinor()));
+        for (Subscriber subscriber : targets) {
+            if (!subscriber.queue.offer(message)) {
+                drop(subscriber);
+            }
+        }
+    }
+
+    @PreDestroy
+    void closeAll() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> {
+            subscriber.emitter.complete();
+            remove(subscriber);
+        }));
+    }
+
+    private void drop(Subscriber subscriber) {
+        log.debug("Dropping slow event stream of user {}", subscriber.userId);
+        droppedCounter.increment();
+        subscriber.emitter.complete();
+        remove(subscriber);
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            // Commits the response headers right away so the client sees the stream open
+            subscriber.emitter.send(SseEmitter.event().comment("connected"));
+            while (!subscriber.closed.get()) {
+                Message message = subscriber.queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                if (message == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name(message.name())
+                            .data(message.data(), MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // Client went away, or the emitter already completed
+            log.debug("Event stream of user {} closed: {}", subscriber.userId, e.getMessage());
+        } finally {
+            remove(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.computeIfPresent(subscriber.userId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        subscriberCount.decrementAndGet();
+        Thread sender = subscriber.sender;
+        if (sender != null && sender != Thread.currentThread()) {
+            sender.interrupt();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.expense_tracker.event;
+
+/**
+ * Published by {@link com.example.expense_tracker.service.TransactionService} for every
+ * write. Listeners that must only see committed data use
+ * {@code @TransactionalEventListener(phase = AFTER_COMMIT)}.
+ */
+public record TransactionChangedEvent(Long userId) {
+}
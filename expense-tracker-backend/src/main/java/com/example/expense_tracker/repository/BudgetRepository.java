@@ -0,0 +1,29 @@
+package com.example.expense_tracker.repository;
+
+import com.example.expense_tracker.dto.BudgetSpend;
+import com.example.expense_tracker.entity.Budget;
+import com.example.expense_tracker.entity.BudgetId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, BudgetId> {
+
+    String WITH_SPEND = "select new com.example.expense_tracker.dto.BudgetSpend(" +
+            "b.id.userId, b.id.category, b.limitMinor, coalesce(r.total, 0L)) " +
+            "from Budget b left join MonthlyRollup r on r.id.userId = b.id.userId " +
+            "and r.id.category = b.id.category and r.id.monthStart = :month " +
+            "and r.id.type = com.example.expense_tracker.entity.TransactionType.EXPENSE ";
+
+    // One primary-key lookup into monthly_rollups per budget, never a scan of transactions
+    @Query(WITH_SPEND)
+    List<BudgetSpend> findAllWithSpend(@Param("month") LocalDate month);
+
+    @Query(WITH_SPEND + "where b.id.userId = :userId order by b.id.category")
+    List<BudgetSpend> findWithSpendByUserId(@Param("userId") Long userId, @Param("month") LocalDate month);
+}
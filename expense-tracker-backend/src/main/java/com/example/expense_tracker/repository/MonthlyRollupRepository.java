@@ -0,0 +1,69 @@
+package com.example.expense_tracker.repository;
+
+import com.example.expense_tracker.dto.BucketTotal;
+import com.example.expense_tracker.dto.CategoryTotal;
+import com.example.expense_tracker.dto.MonthTypeTotal;
+import com.example.expense_tracker.dto.TypeTotal;
+import com.example.expense_tracker.entity.MonthlyRollup;
+import com.example.expense_tracker.entity.MonthlyRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, MonthlyRollupId> {
+
+    List<MonthlyRollup> findByIdUserId(Long userId);
+
+    @Query("select new com.example.expense_tracker.dto.TypeTotal(r.id.type, sum(r.total)) " +
+            "from MonthlyRollup r where r.id.userId = :userId group by r.id.type")
+    List<TypeTotal> sumTotalByType(@Param("userId") Long userId);
+
+    @Query("select new com.example.expense_tracker.dto.CategoryTotal(r.id.category, sum(r.total)) " +
+            "from MonthlyRollup r where r.id.userId = :userId group by r.id.category")
+    List<CategoryTotal> sumTotalByCategory(@Param("userId") Long userId);
+
+    @Query("select new com.example.expense_tracker.dto.MonthTypeTotal(r.id.monthStart, r.id.type, sum(r.total)) " +
+            "from MonthlyRollup r where r.id.userId = :userId and r.id.monthStart >= :from " +
+            "group by r.id.monthStart, r.id.type")
+    List<MonthTypeTotal> sumTotalByMonthAndType(@Param("userId") Long userId, @Param("from") LocalDate from);
+
+    @Query("select new com.example.expense_tracker.dto.BucketTotal(r.id.monthStart, r.id.type, r.id.category, r.total) " +
+            "from MonthlyRollup r where r.id.userId = :userId and r.id.monthStart between :from and :to")
+    List<BucketTotal> findBuckets(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Single-statement upsert so concurrent first writes into a bucket cannot collide
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (users_id, month_start, type, category, total_minor, txn_count) " +
+            "VALUES (:userId, :monthStart, :type, :category, :amount, :count) " +
+            "ON CONFLICT (users_id, month_start, type, category) DO UPDATE SET " +
+            "total_minor = monthly_rollups.total_minor + EXCLUDED.total_minor, " +
+            "txn_count = monthly_rollups.txn_count + EXCLUDED.txn_count",
+            nativeQuery = true)
+    void addToBucket(@Param("userId") Long userId,
+                     @Param("monthStart") LocalDate monthStart,
+                     @Param("type") String type,
+                     @Param("category") String category,
+                     @Param("amount") long amount,
+                     @Param("count") long count);
+
+    @Modifying
+    @Query("delete from MonthlyRollup r where r.id.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    // Rebuilds a user's buckets straight from the raw rows; legacy rows without a
+    // date are kept in the epoch bucket so all-time totals stay exact.
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (users_id, month_start, type, category, total_minor, txn_count) " +
+            "SELECT users_id, COALESCE(CAST(date_trunc('month', date) AS date), DATE '1970-01-01'), " +
+            "type, category, SUM(amount_minor), COUNT(*) " +
+            "FROM transactions_all WHERE users_id = :userId AND NOT deleted AND type IS NOT NULL AND category IS NOT NULL " +
+            "GROUP BY 1, 2, 3, 4",
+            nativeQuery = true)
+    void insertFromTransactions(@Param("userId") Long userId);
+}
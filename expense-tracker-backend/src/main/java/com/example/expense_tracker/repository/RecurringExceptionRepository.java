@@ -0,0 +1,10 @@
+package com.example.expense_tracker.repository;
+
+import com.example.expense_tracker.entity.RecurringException;
+import com.example.expense_tracker.entity.RecurringExceptionId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RecurringExceptionRepository extends JpaRepository<RecurringException, RecurringExceptionId> {
+}
@@ -0,0 +1,25 @@
+package com.example.expense_tracker.repository;
+
+import com.example.expense_tracker.dto.RecurringRuleView;
+import com.example.expense_tracker.entity.RecurringRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringRuleRepository extends JpaRepository<RecurringRule, Long> {
+
+    // Rules and their exception dates in one statement: a row per (rule, exception)
+    @Query("select new com.example.expense_tracker.dto.RecurringRuleView(" +
+            "r.id, r.title, r.amountMinor, r.type, r.category, r.note, r.frequency, r.repeatEvery, " +
+            "r.startDate, r.endDate, r.version, e.id.date) " +
+            "from RecurringRule r left join RecurringException e on e.id.ruleId = r.id " +
+            "where r.user.id = :userId order by r.id")
+    List<RecurringRuleView> findViewsByUserId(@Param("userId") Long userId);
+
+    Optional<RecurringRule> findByIdAndUserId(Long ruleId, Long userId);
+}
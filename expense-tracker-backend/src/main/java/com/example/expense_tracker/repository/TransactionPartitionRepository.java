@@ -0,0 +1,122 @@
+package com.example.expense_tracker.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DDL for the yearly partitions of {@code transactions} (see V5__partition_transactions.sql).
+ * Partition names are {@code transactions_<year>}; years are integers, never user input.
+ */
+@Repository
+public class TransactionPartitionRepository {
+
+    public static final String HOT = "transactions";
+    public static final String ARCHIVE = "transactions_archive";
+
+    // Stored columns; search_text is generated and must not be copied
+    private static final String COLUMNS =
+            "id, title, amount_minor, type, category, date, note, users_id, version, change_seq, deleted";
+
+    private static final Pattern YEAR_PARTITION = Pattern.compile("transactions_(\\d+)");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Years that have a partition attached to {@code parent}.
+     */
+    public Set<Integer> findYears(String parent) {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = CAST(? AS regclass)", String.class, parent);
+        Set<Integer> years = new TreeSet<>();
+        for (String name : names) {
+            Matcher matcher = YEAR_PARTITION.matcher(name);
+            if (matcher.matches()) {
+                years.add(Integer.parseInt(matcher.group(1)));
+            }
+        }
+        return years;
+    }
+
+    /**
+     * Years of dated rows that fell into the default partition for lack of their own.
+     */
+    public List<Integer> findYearsInDefault() {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(EXTRACT(YEAR FROM date) AS INT) FROM transactions_default " +
+                        "WHERE date IS NOT NULL AND date >= DATE '0001-01-01'", Integer.class);
+    }
+
+    /**
+     * Creates and attaches the partition for {@code year}, first moving any of its rows out
+     * of the default partition (attaching fails while the default still holds them). The
+     * move and the attach lock the default partition, so this runs off-peak.
+     */
+    @Transactional
+    public void createYear(int year) {
+        String partition = HOT + "_" + year;
+        LocalDate from = LocalDate.of(year, 1, 1);
+        LocalDate to = from.plusYears(1);
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + HOT +
+                " INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED)");
+        jdbcTemplate.update("WITH moved AS (DELETE FROM transactions_default WHERE date >= ? AND date < ? RETURNING " +
+                COLUMNS + ") INSERT INTO " + partition + " (" + COLUMNS + ") SELECT " + COLUMNS + " FROM moved", from, to);
+        jdbcTemplate.execute("ALTER TABLE " + HOT + " ATTACH PARTITION " + partition +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    /**
+     * Moves rows of an archived {@code year} out of the default partition into that year's
+     * partition of {@code transactions_archive}, which already exists, so no DDL is needed.
+     * Returns the number of rows moved.
+     */
+    @Transactional
+    public int moveDefaultToArchive(int year) {
+        LocalDate from = LocalDate.of(year, 1, 1);
+        return jdbcTemplate.update("WITH moved AS (DELETE FROM transactions_default WHERE date >= ? AND date < ? " +
+                "RETURNING " + COLUMNS + ") INSERT INTO " + HOT + "_" + year + " (" + COLUMNS + ") SELECT " +
+                COLUMNS + " FROM moved", from, from.plusYears(1));
+    }
+
+    /**
+     * Moves the partition for {@code year} from the hot table to the archive and drops the
+     * indexes only the hot table needs. With a {@code tablespace} (e.g. on compressed, cheaper
+     * storage), the partition is also rewritten there, which compacts it.
+     */
+    @Transactional
+    public void archiveYear(int year, String tablespace) {
+        String partition = HOT + "_" + year;
+        LocalDate from = LocalDate.of(year, 1, 1);
+        jdbcTemplate.execute("ALTER TABLE " + HOT + " DETACH PARTITION " + partition);
+        jdbcTemplate.execute("ALTER TABLE " + ARCHIVE + " ATTACH PARTITION " + partition +
+                " FOR VALUES FROM ('" + from + "') TO ('" + from.plusYears(1) + "')");
+
+        // Indexes not attached to an archive index: id and change_seq lookups are hot-only
+        List<String> unused = jdbcTemplate.queryForList(
+                "SELECT CAST(CAST(x.indexrelid AS regclass) AS text) FROM pg_index x " +
+                        "WHERE x.indrelid = CAST(? AS regclass) " +
+                        "AND NOT EXISTS (SELECT 1 FROM pg_inherits i WHERE i.inhrelid = x.indexrelid)",
+                String.class, partition);
+        for (String index : unused) {
+            jdbcTemplate.execute("DROP INDEX " + index);
+        }
+
+        if (tablespace != null && !tablespace.isBlank()) {
+            jdbcTemplate.execute("ALTER TABLE " + partition + " SET TABLESPACE " + quoteIdentifier(tablespace));
+        }
+    }
+
+    private String quoteIdentifier(String identifier) {
+        return jdbcTemplate.queryForObject("SELECT quote_ident(?)", String.class, identifier);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.expense_tracker.repository;
+
+import com.example.expense_tracker.dto.BucketTotal;
+import com.example.expense_tracker.dto.RollupRow;
+import com.example.expense_tracker.dto.SearchCursor;
+import com.example.expense_tracker.dto.SearchHit;
+import com.example.expense_tracker.dto.TransactionCursor;
+import com.example.expense_tracker.dto.TransactionExportRow;
+import com.example.expense_tracker.dto.TransactionFilter;
+import com.example.expense_tracker.dto.TransactionPatch;
+import com.example.expense_tracker.dto.TransactionView;
+import com.example.expense_tracker.dto.TrendInterval;
+import com.example.expense_tracker.dto.UpdatedTransaction;
+import com.example.expense_tracker.entity.Transaction;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface TransactionQueries {
+
+    /**
+     * Keyset page in (date DESC, id DESC) order, starting strictly after {@code after}
+     * (or from the newest row when null). Served by the (users_id, date, id) index.
+     */
+    List<TransactionView> findPage(Long userId, TransactionFilter filter, TransactionCursor after, int limit);
+
+    /**
+     * Title/note matches for {@code query} (lower-cased, at least three characters), best
+     * first: verbatim substring matches, then fuzzy word matches. Keyset-paginated on
+     * (score DESC, id DESC) after {@code after}. Served by the (users_id, search_text)
+     * trigram index; archived years are not searched.
+     */
+    List<SearchHit> search(Long userId, String query, SearchCursor after, int limit);
+
+    /**
+     * Writes {@code changes} to the user's row in a single statement that also returns
+     * the previous bucket, so the rollups can be adjusted without reading the row first.
+     * With {@code partial}, null fields keep their current value. Empty when nothing
+     * matched: no such row for this user, or it is no longer at {@code changes.version()}.
+     */
+    Optional<UpdatedTransaction> updateOwned(Long userId, Long transactionId, TransactionPatch changes, boolean partial);
+
+    /**
+     * Turns the user's row into a tombstone in a single statement and returns the bucket
+     * it counted towards.
+     */
+    Optional<RollupRow> deleteOwned(Long userId, Long transactionId);
+
+    /**
+     * Rows written (tombstones included) with {@code since < change_seq <= upTo}, in
+     * change order.
+     */
+    List<Transaction> findChanges(Long userId, long since, long upTo, int limit);
+
+    /**
+     * Sums per (bucket, type, category) of the user's rows dated within {@code [from, to]},
+     * archived years included, computed in the database. Only the partitions and the
+     * (users_id, date) index range covering the dates are read.
+     */
+    List<BucketTotal> sumByBucket(Long userId, LocalDate from, LocalDate to, TrendInterval interval);
+
+    /**
+     * Per (month, type, category) sums and counts over the user's whole history, archived
+     * years included; undated rows fall in {@link RollupRow#UNDATED_MONTH}. The source of
+     * truth the rollups are verified and rebuilt against.
+     */
+    List<RollupRow> aggregateByMonth(Long userId);
+
+    /**
+     * Forward-only cursor over the user's rows in (date, id) order, archived years included.
+     * Bounds are optional; only the given ones are rendered, so partitions are pruned.
+     * Must be consumed inside a transaction for the fetch size to apply.
+     */
+    Stream<TransactionExportRow> streamForExport(Long userId, LocalDate from, LocalDate to);
+}
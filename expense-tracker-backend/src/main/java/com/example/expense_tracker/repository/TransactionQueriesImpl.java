@@ -0,0 +1,319 @@
+package com.example.expense_tracker.repository;
+
+import com.example.expense_tracker.dto.BucketTotal;
+import com.example.expense_tracker.dto.RollupRow;
+import com.example.expense_tracker.dto.SearchCursor;
+import com.example.expense_tracker.dto.SearchHit;
+import com.example.expense_tracker.dto.TransactionCursor;
+import com.example.expense_tracker.dto.TransactionExportRow;
+import com.example.expense_tracker.dto.TransactionFilter;
+import com.example.expense_tracker.dto.TransactionPatch;
+import com.example.expense_tracker.dto.TransactionView;
+import com.example.expense_tracker.dto.TrendInterval;
+import com.example.expense_tracker.dto.UpdatedTransaction;
+import com.example.expense_tracker.entity.Transaction;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+class TransactionQueriesImpl implements TransactionQueries {
+
+    private static final String ROW_COLUMNS =
+            "t.id, t.title, t.amount_minor, t.type, t.category, t.date, t.note, t.version, t.change_seq, t.deleted";
+
+    // Advances the user's change sequence in the same statement as the write. The row
+    // lock it takes on users serializes a user's writes, so sequence order is commit order.
+    private static final String NEXT_CHANGE_SEQ =
+            "WITH seq AS (UPDATE users SET change_seq = change_seq + 1 WHERE id = :userId RETURNING change_seq) ";
+
+    // Constructor expression: only the columns the API returns, nothing managed
+    static final String VIEW_CONSTRUCTOR = "new com.example.expense_tracker.dto.TransactionView(" +
+            "t.id, t.title, t.amountMinor, t.type, t.category, t.date, t.note, t.version, t.changeSeq)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransactionView> findPage(Long userId, TransactionFilter filter, TransactionCursor after, int limit) {
+        // Only the predicates that are actually requested are rendered, so every
+        // variant stays a plain range scan on (users_id, date, id).
+        StringBuilder jpql = new StringBuilder("select " + VIEW_CONSTRUCTOR + " from Transaction t where t.user.id = :userId");
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+
+        if (filter.from() != null) {
+            jpql.append(" and t.date >= :from");
+            params.put("from", filter.from());
+        }
+        if (filter.to() != null) {
+            jpql.append(" and t.date <= :to");
+            params.put("to", filter.to());
+        }
+        if (filter.type() != null) {
+            jpql.append(" and t.type = :type");
+            params.put("type", filter.type());
+        }
+        if (filter.category() != null) {
+            jpql.append(" and t.category = :category");
+            params.put("category", filter.category());
+        }
+        if (after != null) {
+            // DESC ordering puts NULL dates first in PostgreSQL, so a cursor on a
+            // null date continues within the null group before moving on to dated rows.
+            if (after.date() == null) {
+                jpql.append(" and ((t.date is null and t.id < :cursorId) or t.date is not null)");
+            } else {
+                jpql.append(" and (t.date < :cursorDate or (t.date = :cursorDate and t.id < :cursorId))");
+                params.put("cursorDate", after.date());
+            }
+            params.put("cursorId", after.id());
+        }
+        jpql.append(" order by t.date desc, t.id desc");
+
+        TypedQuery<TransactionView> query = entityManager.createQuery(jpql.toString(), TransactionView.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<SearchHit> search(Long userId, String query, SearchCursor after, int limit) {
+        // Verbatim hits score above 1 so they rank ahead of every fuzzy-only hit
+        StringBuilder sql = new StringBuilder("SELECT * FROM (SELECT " + ROW_COLUMNS + "," +
+                " CAST(word_similarity(:q, t.search_text)" +
+                " + CASE WHEN t.search_text LIKE :pattern THEN 1 ELSE 0 END AS real) AS score" +
+                " FROM transactions t" +
+                " WHERE t.users_id = :userId AND NOT t.deleted" +
+                " AND (t.search_text LIKE :pattern OR :q <% t.search_text)) m");
+        if (after != null) {
+            sql.append(" WHERE m.score < :afterScore OR (m.score = :afterScore AND m.id < :afterId)");
+        }
+        sql.append(" ORDER BY m.score DESC, m.id DESC");
+
+        NativeQuery<Object[]> statement = nativeQuery(sql.toString());
+        addRowScalars(statement);
+        statement.addScalar("score", Float.class);
+        statement.setParameter("userId", userId);
+        statement.setParameter("q", query);
+        statement.setParameter("pattern", "%" + escapeLike(query) + "%");
+        if (after != null) {
+            statement.setParameter("afterScore", after.score());
+            statement.setParameter("afterId", after.id());
+        }
+        return statement.setMaxResults(limit).getResultList().stream()
+                .map(row -> new SearchHit(TransactionView.of(toTransaction(row, 0)), (Float) row[10]))
+                .toList();
+    }
+
+    @Override
+    public Optional<UpdatedTransaction> updateOwned(Long userId, Long transactionId, TransactionPatch changes, boolean partial) {
+        boolean title = !partial || changes.title() != null;
+        boolean amount = !partial || changes.amount() != null;
+        boolean type = !partial || changes.type() != null;
+        boolean category = !partial || changes.category() != null;
+        boolean date = !partial || changes.date() != null;
+        boolean note = !partial || changes.note() != null;
+        boolean checkVersion = changes.version() != null;
+
+        StringJoiner assignments = new StringJoiner(", ");
+        if (title) assignments.add("title = :title");
+        if (amount) assignments.add("amount_minor = :amountMinor");
+        if (type) assignments.add("type = :type");
+        if (category) assignments.add("category = :category");
+        if (date) assignments.add("date = :date");
+        if (note) assignments.add("note = :note");
+        assignments.add("version = t.version + 1");
+        assignments.add("change_seq = (SELECT change_seq FROM seq)");
+
+        // The locked self-join exposes the pre-update values to RETURNING, so the old
+        // bucket comes back with the new row and no SELECT is needed beforehand.
+        String sql = NEXT_CHANGE_SEQ +
+                "UPDATE transactions t SET " + assignments +
+                " FROM (SELECT id, amount_minor, type, category, date FROM transactions" +
+                " WHERE id = :id AND users_id = :userId AND NOT deleted FOR UPDATE) old" +
+                " WHERE t.id = old.id" + (checkVersion ? " AND t.version = :version" : "") +
+                " RETURNING old.amount_minor AS old_amount_minor, old.type AS old_type," +
+                " old.category AS old_category, old.date AS old_date, " + ROW_COLUMNS;
+
+        NativeQuery<Object[]> query = nativeQuery(sql)
+                .addScalar("old_amount_minor", Long.class)
+                .addScalar("old_type", String.class)
+                .addScalar("old_category", String.class)
+                .addScalar("old_date", LocalDate.class);
+        addRowScalars(query);
+        query.setParameter("id", transactionId);
+        query.setParameter("userId", userId);
+        if (title) query.setParameter("title", changes.title(), String.class);
+        if (amount) query.setParameter("amountMinor", changes.amountMinor(), Long.class);
+        if (type) query.setParameter("type", name(changes.type()), String.class);
+        if (category) query.setParameter("category", name(changes.category()), String.class);
+        if (date) query.setParameter("date", changes.date(), LocalDate.class);
+        if (note) query.setParameter("note", changes.note(), String.class);
+        if (checkVersion) query.setParameter("version", changes.version());
+
+        return query.getResultList().stream().findFirst()
+                .map(row -> new UpdatedTransaction(bucket(row[0], row[1], row[2], row[3]), toTransaction(row, 4)));
+    }
+
+    @Override
+    public Optional<RollupRow> deleteOwned(Long userId, Long transactionId) {
+        // A tombstone rather than a DELETE, so delta sync can tell clients the row is gone
+        NativeQuery<Object[]> query = nativeQuery(NEXT_CHANGE_SEQ +
+                "UPDATE transactions SET deleted = TRUE, change_seq = (SELECT change_seq FROM seq)" +
+                " WHERE id = :id AND users_id = :userId AND NOT deleted" +
+                " RETURNING amount_minor, type, category, date")
+                .addScalar("amount_minor", Long.class)
+                .addScalar("type", String.class)
+                .addScalar("category", String.class)
+                .addScalar("date", LocalDate.class);
+        query.setParameter("id", transactionId);
+        query.setParameter("userId", userId);
+        return query.getResultList().stream().findFirst().map(row -> bucket(row[0], row[1], row[2], row[3]));
+    }
+
+    @Override
+    public List<Transaction> findChanges(Long userId, long since, long upTo, int limit) {
+        NativeQuery<Object[]> query = nativeQuery("SELECT " + ROW_COLUMNS + " FROM transactions t" +
+                " WHERE t.users_id = :userId AND t.change_seq > :since AND t.change_seq <= :upTo" +
+                " ORDER BY t.change_seq");
+        addRowScalars(query);
+        query.setParameter("userId", userId);
+        query.setParameter("since", since);
+        query.setParameter("upTo", upTo);
+        return query.setMaxResults(limit).getResultList().stream()
+                .map(row -> toTransaction(row, 0))
+                .toList();
+    }
+
+    @Override
+    public List<BucketTotal> sumByBucket(Long userId, LocalDate from, LocalDate to, TrendInterval interval) {
+        // date_trunc on a timestamp (not timestamptz), so bucket edges ignore the session time zone
+        NativeQuery<Object[]> query = nativeQuery("SELECT CAST(date_trunc('" + interval.sqlField() + "'," +
+                " CAST(t.date AS timestamp)) AS date) AS bucket_start, t.type, t.category," +
+                " SUM(t.amount_minor) AS total FROM transactions_all t" +
+                " WHERE t.users_id = :userId AND t.date >= :from AND t.date <= :to AND NOT t.deleted" +
+                " GROUP BY 1, 2, 3")
+                .addScalar("bucket_start", LocalDate.class)
+                .addScalar("type", String.class)
+                .addScalar("category", String.class)
+                .addScalar("total", Long.class);
+        query.setParameter("userId", userId);
+        query.setParameter("from", from);
+        query.setParameter("to", to);
+        return query.getResultList().stream()
+                .map(row -> new BucketTotal((LocalDate) row[0],
+                        row[1] == null ? null : TransactionType.valueOf((String) row[1]),
+                        row[2] == null ? null : TransactionCategory.valueOf((String) row[2]),
+                        (Long) row[3]))
+                .toList();
+    }
+
+    @Override
+    public List<RollupRow> aggregateByMonth(Long userId) {
+        NativeQuery<Object[]> query = nativeQuery("SELECT CAST(date_trunc('month', CAST(t.date AS timestamp)) AS date)" +
+                " AS month_start, t.type, t.category, SUM(t.amount_minor) AS total, COUNT(*) AS txn_count" +
+                " FROM transactions_all t" +
+                " WHERE t.users_id = :userId AND NOT t.deleted AND t.type IS NOT NULL AND t.category IS NOT NULL" +
+                " GROUP BY 1, 2, 3")
+                .addScalar("month_start", LocalDate.class)
+                .addScalar("type", String.class)
+                .addScalar("category", String.class)
+                .addScalar("total", Long.class)
+                .addScalar("txn_count", Long.class);
+        query.setParameter("userId", userId);
+        return query.getResultList().stream()
+                .map(row -> new RollupRow(row[0] == null ? RollupRow.UNDATED_MONTH : (LocalDate) row[0],
+                        TransactionType.valueOf((String) row[1]),
+                        TransactionCategory.valueOf((String) row[2]),
+                        (Long) row[3], (Long) row[4]))
+                .toList();
+    }
+
+    @Override
+    public Stream<TransactionExportRow> streamForExport(Long userId, LocalDate from, LocalDate to) {
+        StringBuilder sql = new StringBuilder("SELECT t.id, t.title, t.amount_minor, t.type, t.category, t.date, t.note" +
+                " FROM transactions_all t WHERE t.users_id = :userId AND NOT t.deleted");
+        if (from != null) sql.append(" AND t.date >= :from");
+        if (to != null) sql.append(" AND t.date <= :to");
+        sql.append(" ORDER BY t.date, t.id");
+
+        NativeQuery<Object[]> query = nativeQuery(sql.toString())
+                .addScalar("id", Long.class)
+                .addScalar("title", String.class)
+                .addScalar("amount_minor", Long.class)
+                .addScalar("type", String.class)
+                .addScalar("category", String.class)
+                .addScalar("date", LocalDate.class)
+                .addScalar("note", String.class);
+        query.setParameter("userId", userId);
+        if (from != null) query.setParameter("from", from);
+        if (to != null) query.setParameter("to", to);
+        // Rows arrive in fetch-size batches instead of one big result set
+        query.setFetchSize(500);
+        return query.getResultStream()
+                .map(row -> new TransactionExportRow((Long) row[0], (String) row[1], (Long) row[2],
+                        row[3] == null ? null : TransactionType.valueOf((String) row[3]),
+                        row[4] == null ? null : TransactionCategory.valueOf((String) row[4]),
+                        (LocalDate) row[5], (String) row[6], null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object[]> nativeQuery(String sql) {
+        return entityManager.unwrap(Session.class).createNativeQuery(sql);
+    }
+
+    private static void addRowScalars(NativeQuery<Object[]> query) {
+        query.addScalar("id", Long.class)
+                .addScalar("title", String.class)
+                .addScalar("amount_minor", Long.class)
+                .addScalar("type", String.class)
+                .addScalar("category", String.class)
+                .addScalar("date", LocalDate.class)
+                .addScalar("note", String.class)
+                .addScalar("version", Long.class)
+                .addScalar("change_seq", Long.class)
+                .addScalar("deleted", Boolean.class);
+    }
+
+    // Detached copy of a row selected as ROW_COLUMNS starting at column {@code offset}
+    private static Transaction toTransaction(Object[] row, int offset) {
+        return Transaction.builder()
+                .id((Long) row[offset])
+                .title((String) row[offset + 1])
+                .amountMinor((Long) row[offset + 2])
+                .type(row[offset + 3] == null ? null : TransactionType.valueOf((String) row[offset + 3]))
+                .category(row[offset + 4] == null ? null : TransactionCategory.valueOf((String) row[offset + 4]))
+                .date((LocalDate) row[offset + 5])
+                .note((String) row[offset + 6])
+                .version((Long) row[offset + 7])
+                .changeSeq((Long) row[offset + 8])
+                .deleted((Boolean) row[offset + 9])
+                .build();
+    }
+
+    private static RollupRow bucket(Object amountMinor, Object type, Object category, Object date) {
+        return new RollupRow(RollupRow.monthOf((LocalDate) date),
+                type == null ? null : TransactionType.valueOf((String) type),
+                category == null ? null : TransactionCategory.valueOf((String) category),
+                (Long) amountMinor, 1);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+}
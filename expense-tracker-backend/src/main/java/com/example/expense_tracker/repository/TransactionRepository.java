@@ -1,13 +1,26 @@
 package com.example.expense_tracker.repository;
 
+import com.example.expense_tracker.dto.TransactionView;
 import com.example.expense_tracker.entity.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    List<Transaction> findByUserId(Long userId);
-    Transaction findByIdAndUserId(Long transactionId, Long userId);
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionQueries {
+    @Query("select new com.example.expense_tracker.dto.TransactionView(" +
+            "t.id, t.title, t.amountMinor, t.type, t.category, t.date, t.note, t.version, t.changeSeq) " +
+            "from Transaction t where t.id = :transactionId and t.user.id = :userId")
+    Optional<TransactionView> findViewByIdAndUserId(@Param("transactionId") Long transactionId,
+                                                    @Param("userId") Long userId);
+
+    boolean existsByIdAndUserId(Long transactionId, Long userId);
+
+    // Includes users whose rows are all archived: their rollups still get verified
+    @Query(value = "SELECT DISTINCT users_id FROM transactions_all WHERE users_id IS NOT NULL", nativeQuery = true)
+    List<Long> findDistinctUserIds();
 }
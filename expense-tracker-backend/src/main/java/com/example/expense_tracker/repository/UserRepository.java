@@ -1,8 +1,13 @@
 package com.example.expense_tracker.repository;
 
+import com.example.expense_tracker.dto.UserView;
 import com.example.expense_tracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -11,4 +16,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("select new com.example.expense_tracker.dto.UserView(u.id, u.username, u.email) from User u where u.id = :id")
+    Optional<UserView> findViewById(@Param("id") Long id);
+
+    // Reserves the next {@code count} change sequence numbers and returns the last one
+    @Query(value = "UPDATE users SET change_seq = change_seq + :count WHERE id = :userId RETURNING change_seq",
+            nativeQuery = true)
+    long advanceChangeSeq(@Param("userId") Long userId, @Param("count") long count);
+
+    // Stores a re-hashed password; called from the hashing pool, outside any request transaction
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :userId")
+    void updatePassword(@Param("userId") Long userId, @Param("password") String password);
+
+    @Query(value = "SELECT change_seq FROM users WHERE id = :userId", nativeQuery = true)
+    long findChangeSeq(@Param("userId") Long userId);
 }
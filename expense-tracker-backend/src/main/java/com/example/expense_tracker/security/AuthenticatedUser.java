@@ -0,0 +1,15 @@
+package com.example.expense_tracker.security;
+
+import java.security.Principal;
+
+/**
+ * Principal placed in the SecurityContext by {@link JWTFilter}. Carries the user id
+ * from the token so controllers never have to look the user up by email.
+ */
+public record AuthenticatedUser(Long id, String email) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
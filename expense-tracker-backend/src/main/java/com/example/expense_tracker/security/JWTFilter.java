@@ -1,6 +1,10 @@
 package com.example.expense_tracker.security;
 
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,32 +21,58 @@ import java.util.List;
 @Component
 public class JWTFilter extends OncePerRequestFilter {
 
+    private static final String EVENTS_PATH = "/api/events";
+
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Registered once: this runs on every request, so no per-call meter lookup
+    private Timer verifiedTimer;
+    private Timer expiredTimer;
+    private Timer invalidTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        verifiedTimer = verifyTimer("verified");
+        expiredTimer = verifyTimer("expired");
+        invalidTimer = verifyTimer("invalid");
+    }
+
+    private Timer verifyTimer(String outcome) {
+        return Timer.builder("auth.jwt.verify")
+                .description("JWT verification in JWTFilter, cache hits included")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        String authHeader = request.getHeader("Authorization");
-
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+        String token = bearerToken(request);
 
-            String token = authHeader.substring(7);
+        if (token != null) {
 
+            Timer.Sample sample = Timer.start(meterRegistry);
             try {
-                if (!jwtUtil.isTokenExpired(token)) {
-                    String email = jwtUtil.extractEmail(token);
-                    var auth = new UsernamePasswordAuthenticationToken(email, null, List.of());
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-                } else {
-                    // Token expired
-                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                    response.getWriter().write("Token expired");
-                    return;  // stop filter chain
-                }
+                // One verification per request; repeat tokens are served from JwtUtil's cache
+                VerifiedToken verified = jwtUtil.verify(token);
+                sample.stop(verifiedTimer);
+                var principal = new AuthenticatedUser(verified.userId(), verified.email());
+                var auth = new UsernamePasswordAuthenticationToken(principal, null, List.of());
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            } catch (ExpiredJwtException e) {
+                sample.stop(expiredTimer);
+                // Token expired
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.getWriter().write("Token expired");
+                return;  // stop filter chain
             } catch (JwtException e) {
+                sample.stop(invalidTimer);
                 // Invalid token
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("Invalid token");
@@ -52,4 +82,16 @@ public class JWTFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private static String bearerToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        // Query tokens end up in access logs, so only the event stream (EventSource cannot set headers) takes one
+        if (EVENTS_PATH.equals(request.getServletPath())) {
+            return request.getParameter("access_token");
+        }
+        return null;
+    }
+}
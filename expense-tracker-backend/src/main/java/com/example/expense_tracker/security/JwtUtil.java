@@ -1,12 +1,23 @@
 package com.example.expense_tracker.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 
 @Component
@@ -14,36 +25,87 @@ public class JwtUtil {
 
     private final String SECRET = "your‑very‑long‑secret‑key‑of‑at‑least‑512‑bits‑please‑store‑securely";
     private final long EXPIRATION = 1000 * 60 * 60; // 1 hour
+    private final long VERIFIED_CACHE_SIZE = 10_000;
+    private static final String USER_ID_CLAIM = "uid";
 
     private final SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
 
-    public String generateToken(String email) {
+    // Immutable and thread-safe, so one parser serves every request
+    private final JwtParser parser = Jwts.parser().verifyWith(key).build();
+
+    // Token digest -> verified claims; each entry expires together with its token
+    private final Cache<String, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_CACHE_SIZE)
+            .expireAfter(new Expiry<String, VerifiedToken>() {
+                @Override
+                public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+                    return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+                }
+
+                @Override
+                public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime,
+                                              long currentDuration) {
+                    return expireAfterCreate(digest, token, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String digest, VerifiedToken token, long currentTime,
+                                            long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    public String generateToken(Long userId, String email) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + EXPIRATION);
 
         return Jwts.builder()
                 .subject(email)
+                .claim(USER_ID_CLAIM, userId)
                 .issuedAt(now)
                 .expiration(expiry)
                 .signWith(key, Jwts.SIG.HS512)
                 .compact();
     }
 
+    /**
+     * Parses and verifies the token once. Tokens seen before are answered from the
+     * cache without any signature check until they expire.
+     *
+     * @throws ExpiredJwtException if the token has expired
+     * @throws io.jsonwebtoken.JwtException if the token is malformed or its signature is invalid
+     */
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return cached;
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        if (userId == null) {
+            // Issued before the user id claim existed; the client has to log in again
+            throw new MalformedJwtException("Token has no user id");
+        }
+        VerifiedToken verified = new VerifiedToken(userId, claims.getSubject(), claims.getExpiration().toInstant());
+        verifiedTokens.put(digest, verified);
+        return verified;
+    }
+
     public String extractEmail(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return verify(token).email();
     }
 
-    boolean isTokenExpired(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getExpiration().before(new Date());
+    // Keys the cache by a digest so raw bearer tokens are never held in memory
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -0,0 +1,54 @@
+package com.example.expense_tracker.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Per-IP and per-email token buckets for the auth endpoints, checked before any
+ * password hashing so a credential-stuffing run is turned away cheaply.
+ */
+@Component
+public class LoginThrottle {
+
+    @Value("${app.auth.throttle.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${app.auth.throttle.ip.refill-per-minute:20}")
+    private int ipRefillPerMinute;
+
+    @Value("${app.auth.throttle.email.capacity:5}")
+    private int emailCapacity;
+
+    @Value("${app.auth.throttle.email.refill-per-minute:5}")
+    private int emailRefillPerMinute;
+
+    // Idle buckets are full anyway, so dropping them loses nothing
+    private final Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+
+    /**
+     * @param email may be null (registration only throttles by IP)
+     * @throws TooManyRequestsException if either budget is exhausted
+     */
+    public void acquire(String clientIp, String email) {
+        take("ip:" + clientIp, ipCapacity, ipRefillPerMinute);
+        if (email != null) {
+            take("email:" + email.toLowerCase(Locale.ROOT), emailCapacity, emailRefillPerMinute);
+        }
+    }
+
+    private void take(String key, int capacity, int refillPerMinute) {
+        long now = System.nanoTime();
+        long waitNanos = buckets.get(key, k -> new TokenBucket(capacity, refillPerMinute, now)).tryTake(now);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException("Too many attempts, retry later", Duration.ofNanos(waitNanos));
+        }
+    }
+}
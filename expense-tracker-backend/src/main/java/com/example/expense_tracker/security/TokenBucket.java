@@ -0,0 +1,41 @@
+package com.example.expense_tracker.security;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket: {@code capacity} tokens, refilled continuously at
+ * {@code refillPerMinute}. State is swapped with compare-and-set, so callers never
+ * block (and never pin a virtual thread).
+ */
+final class TokenBucket {
+
+    private record State(double tokens, long updatedNanos) {
+    }
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(int capacity, int refillPerMinute, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60_000_000_000.0;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Takes one token. Returns 0 on success, otherwise the nanoseconds until one is available.
+     */
+    long tryTake(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            long elapsed = Math.max(0, nowNanos - current.updatedNanos());
+            double tokens = Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(nowNanos, current.updatedNanos())))) {
+                return 0;
+            }
+        }
+    }
+}
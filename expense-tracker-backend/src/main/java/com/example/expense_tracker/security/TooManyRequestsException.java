@@ -0,0 +1,21 @@
+package com.example.expense_tracker.security;
+
+import java.time.Duration;
+
+/**
+ * Thrown before any expensive work when a client is over its login budget or the
+ * password hashing executor is saturated; answered with 429 and Retry-After.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
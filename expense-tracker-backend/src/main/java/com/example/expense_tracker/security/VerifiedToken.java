@@ -0,0 +1,13 @@
+package com.example.expense_tracker.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a bearer token whose signature and expiry have been checked.
+ */
+public record VerifiedToken(Long userId, String email, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -24,13 +24,13 @@
         }
 
         public String login(User user) {
-            userRepository.findByEmail(user.getEmail())
+            User found = userRepository.findByEmail(user.getEmail())
                     .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
             if (!passwordEncoder.matches(user.getPassword(), user.getPassword())) {
                 throw new BadCredentialsException("Invalid credentials");
             }
 
-            return jwtUtil.generateToken(user.getEmail());
+            return jwtUtil.generateToken(found.getId(), user.getEmail());
         }
     }
@@ -0,0 +1,101 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.dto.BudgetSpend;
+import com.example.expense_tracker.dto.BudgetStatus;
+import com.example.expense_tracker.dto.RollupRow;
+import com.example.expense_tracker.entity.Budget;
+import com.example.expense_tracker.entity.BudgetId;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.repository.BudgetRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+public class BudgetService {
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetTracker budgetTracker;
+
+    @Autowired
+    private RecurringRules recurringRules;
+
+    /**
+     * Every budget of the user with the current month's spending: the rollups of stored
+     * transactions plus the recurring occurrences due so far this month.
+     */
+    @Transactional(readOnly = true)
+    public List<BudgetStatus> getBudgets(Long userId) {
+        LocalDate today = LocalDate.now();
+        LocalDate month = RollupRow.monthOf(today);
+        long[] due = dueRecurring(userId, month, today);
+        return budgetRepository.findWithSpendByUserId(userId, month).stream()
+                .map(b -> BudgetStatus.of(month, b.category(), b.limitMinor(),
+                        b.spentMinor() + due[b.category().ordinal()]))
+                .toList();
+    }
+
+    /**
+     * Creates or replaces the monthly limit of an expense category.
+     *
+     * @throws IllegalArgumentException if the category is not an expense category or the
+     *                                  limit is missing or not positive
+     */
+    @Transactional
+    public BudgetStatus setBudget(Long userId, TransactionCategory category, Long limitMinor) {
+        if (category == null || !TransactionService.EXPENSE_CATEGORIES.contains(category)) {
+            throw new IllegalArgumentException("Budgets are only set on expense categories: " + category);
+        }
+        if (limitMinor == null || limitMinor <= 0) {
+            throw new IllegalArgumentException("Budget limit must be positive");
+        }
+        budgetRepository.save(new Budget(new BudgetId(userId, category), limitMinor));
+
+        LocalDate today = LocalDate.now();
+        LocalDate month = RollupRow.monthOf(today);
+        long spent = budgetRepository.findWithSpendByUserId(userId, month).stream()
+                .filter(b -> b.category() == category)
+                .mapToLong(BudgetSpend::spentMinor)
+                .findFirst()
+                .orElse(0) + dueRecurring(userId, month, today)[category.ordinal()];
+        // Tracked from the commit on; crossings already behind the month's spending are not replayed
+        afterCommit(() -> budgetTracker.seed(userId, month, category, limitMinor, spent));
+        return BudgetStatus.of(month, category, limitMinor, spent);
+    }
+
+    /**
+     * @return false if the user had no budget on that category
+     */
+    @Transactional
+    public boolean deleteBudget(Long userId, TransactionCategory category) {
+        BudgetId id = new BudgetId(userId, category);
+        if (!budgetRepository.existsById(id)) {
+            return false;
+        }
+        budgetRepository.deleteById(id);
+        afterCommit(() -> budgetTracker.forget(userId, category));
+        return true;
+    }
+
+    // Occurrences are not stored, so the rollups do not have them
+    private long[] dueRecurring(Long userId, LocalDate month, LocalDate today) {
+        return Occurrences.expensesByCategory(recurringRules.getRules(userId), month, today);
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.dto.BudgetSpend;
+import com.example.expense_tracker.dto.RollupRow;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+import com.example.expense_tracker.event.BudgetThresholdEvent;
+import com.example.expense_tracker.repository.BudgetRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Current-month spending of every budgeted (user, category), kept in memory so that a
+ * write checks its budget thresholds without reading anything back from the database.
+ *
+ * <p>{@link RollupService} hands over every bucket delta it applies. Deltas that hit a
+ * tracked counter are added once the transaction has committed (a rolled-back write never
+ * counts), and a counter that moves across a threshold publishes a
+ * {@link BudgetThresholdEvent}. Everything else costs one hash lookup.</p>
+ *
+ * <p>The counters are loaded from {@code monthly_rollups} plus the recurring occurrences due
+ * so far at startup, after rollup repairs and daily shortly after midnight, which also
+ * starts the new month. Occurrences are not written, so the daily reload is what counts
+ * the ones that came due and alerts on the thresholds they cross. A write committing while
+ * a reload runs may be missed until the next one. Kept per application instance.</p>
+ */
+@Slf4j
+@Component
+public class BudgetTracker {
+
+    // Percent of the limit, highest first
+    static final int[] THRESHOLDS = {100, 80};
+
+    private record SpendKey(Long userId, LocalDate month, TransactionCategory category) {
+    }
+
+    // A single AtomicLong rather than a LongAdder: the crossing check needs the exact
+    // before/after pair of each addition, which only addAndGet gives atomically
+    private static final class Counter {
+        private volatile long limitMinor;
+        private final AtomicLong spentMinor;
+
+        private Counter(long limitMinor, long spentMinor) {
+            this.limitMinor = limitMinor;
+            this.spentMinor = new AtomicLong(spentMinor);
+        }
+    }
+
+    // Only the current month is ever present; concurrent writers contend per key, not per map
+    private final Map<SpendKey, Counter> counters = new ConcurrentHashMap<>();
+
+    // Until the first reload the previous spending is unknown, so it cannot alert
+    private volatile boolean reconciled;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private RecurringRules recurringRules;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("budget.tracked", counters, Map::size)
+                .description("Budgets whose current-month spending is tracked in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Write-path hook, called from inside the writing transaction with the change of
+     * one rollup bucket.
+     */
+    public void track(Long userId, RollupRow delta) {
+        if (delta.type() != TransactionType.EXPENSE || delta.total() == 0) {
+            return;
+        }
+        SpendKey key = new SpendKey(userId, delta.monthStart(), delta.category());
+        if (!counters.containsKey(key)) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(key, delta.total());
+            }
+        });
+    }
+
+    /**
+     * Starts (or updates) tracking of a budget with the month's spending so far.
+     */
+    public void seed(Long userId, LocalDate month, TransactionCategory category, long limitMinor, long spentMinor) {
+        counters.compute(new SpendKey(userId, month, category), (key, counter) -> {
+            if (counter == null) {
+                return new Counter(limitMinor, spentMinor);
+            }
+            counter.limitMinor = limitMinor;
+            counter.spentMinor.set(spentMinor);
+            return counter;
+        });
+    }
+
+    public void forget(Long userId, TransactionCategory category) {
+        counters.keySet().removeIf(key -> key.userId().equals(userId) && key.category() == category);
+    }
+
+    // Also run by RollupVerificationJob at startup and after repairs, once the rollups are complete
+    @Scheduled(cron = "${app.budgets.reconcile-cron:0 5 0 * * *}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        LocalDate month = RollupRow.monthOf(today);
+        Map<SpendKey, BudgetSpend> loaded = new HashMap<>();
+        for (BudgetSpend row : budgetRepository.findAllWithSpend(month)) {
+            loaded.put(new SpendKey(row.userId(), month, row.category()), row);
+        }
+
+        // Counters are corrected in place, so a concurrent addition is not lost to a swapped map
+        counters.keySet().retainAll(loaded.keySet());
+        Map<Long, long[]> due = new HashMap<>();
+        int changed = 0;
+        for (Map.Entry<SpendKey, BudgetSpend> entry : loaded.entrySet()) {
+            BudgetSpend row = entry.getValue();
+            long[] dueByCategory = due.computeIfAbsent(row.userId(),
+                    userId -> Occurrences.expensesByCategory(recurringRules.getRules(userId), month, today));
+            long spent = row.spentMinor() + dueByCategory[row.category().ordinal()];
+            Counter counter = counters.get(entry.getKey());
+            // A key missing after the first reload is a new month (or a budget set on another
+            // instance) and counts from zero
+            long before = counter != null ? counter.spentMinor.get() : reconciled ? 0 : spent;
+            if (before != spent) {
+                changed++;
+            }
+            seed(row.userId(), month, row.category(), row.limitMinor(), spent);
+            alert(entry.getKey(), before, spent, row.limitMinor());
+        }
+        reconciled = true;
+        log.info("Budget counters reconciled for {}: {} tracked, {} changed", month, loaded.size(), changed);
+    }
+
+    private void add(SpendKey key, long amountMinor) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            // Budget removed, or the month rolled over, since the write looked
+            return;
+        }
+        long after = counter.spentMinor.addAndGet(amountMinor);
+        alert(key, after - amountMinor, after, counter.limitMinor);
+    }
+
+    private void alert(SpendKey key, long before, long after, long limit) {
+        int threshold = crossed(before, after, limit);
+        if (threshold != 0) {
+            meterRegistry.counter("budget.alerts", "threshold", String.valueOf(threshold)).increment();
+            eventPublisher.publishEvent(new BudgetThresholdEvent(key.userId(), key.month(), key.category(),
+                    threshold, after, limit));
+        }
+    }
+
+    /**
+     * The highest threshold that {@code before -> after} moved up across, or 0. A refund
+     * moving back below a threshold does not alert; moving up across it again does.
+     */
+    static int crossed(long before, long after, long limitMinor) {
+        for (int threshold : THRESHOLDS) {
+            long mark = Math.ceilDiv(limitMinor * threshold, 100);
+            if (before < mark && after >= mark) {
+                return threshold;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.expense_tracker.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * Per-user cache entries tagged with the user's change sequence and the day they were
+ * loaded on. An entry is served only while both still match, so a load that started
+ * before a write and is put after that write's eviction is never served: its tag is
+ * already behind. Eviction on write ({@link ReportCacheInvalidator}) only frees the
+ * memory early.
+ *
+ * <p>Call it inside the reading transaction. The sequence is then read on the same
+ * connection as the data and before it, so an entry is never older than its tag, even
+ * when the read runs on a lagging replica.</p>
+ */
+@Component
+class ChangeSeqCache {
+
+    private record Entry(long changeSeq, LocalDate day, Object value) {
+    }
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UserService userService;
+
+    @SuppressWarnings("unchecked")
+    <T> T get(String cacheName, Long userId, Supplier<T> loader) {
+        long changeSeq = userService.getChangeSeq(userId);
+        LocalDate today = LocalDate.now();
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return loader.get();
+        }
+        Cache.ValueWrapper hit = cache.get(userId);
+        if (hit != null && hit.get() instanceof Entry entry
+                && entry.changeSeq() == changeSeq && entry.day().equals(today)) {
+            return (T) entry.value();
+        }
+        T value = loader.get();
+        cache.put(userId, new Entry(changeSeq, today, value));
+        return value;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.entity.Money;
+import com.example.expense_tracker.entity.Transaction;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads CSV record by record. The first line is a header naming the columns
+ * (title, amount, type, category, date, note) in any order; fields may be quoted
+ * with {@code "}, use {@code ""} for a literal quote and, when quoted, span lines,
+ * so an export with multi-line notes reads back as written.
+ */
+public class CsvTransactionReader implements TransactionRowReader {
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private int number;
+    private String nextLine;
+    private boolean nextUnterminated;
+
+    public CsvTransactionReader(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV upload is empty");
+        }
+        List<String> names = parseLine(header.replace("\uFEFF", ""));
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("title", "amount", "type", "category", "date")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+        advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextLine != null;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String line = nextLine;
+        boolean unterminated = nextUnterminated;
+        number++;
+        advance();
+        if (unterminated) {
+            return Row.failed(number, "Unterminated quoted field");
+        }
+        try {
+            List<String> fields = parseLine(line);
+            Transaction transaction = Transaction.builder()
+                    .title(field(fields, "title"))
+                    .amountMinor(Money.parse(required(fields, "amount")))
+                    .type(TransactionType.valueOf(required(fields, "type").toUpperCase(Locale.ROOT)))
+                    .category(TransactionCategory.valueOf(required(fields, "category").toUpperCase(Locale.ROOT)))
+                    .date(LocalDate.parse(required(fields, "date")))
+                    .note(field(fields, "note"))
+                    .build();
+            return Row.parsed(number, transaction);
+        } catch (RuntimeException e) {
+            return Row.failed(number, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void advance() {
+        try {
+            // Blank lines are skipped and do not count as rows
+            do {
+                nextLine = reader.readLine();
+            } while (nextLine != null && nextLine.isBlank());
+            nextUnterminated = false;
+            long count = nextLine == null ? 0 : quotes(nextLine);
+            if (count % 2 == 0) {
+                return;
+            }
+            // An odd number of quotes leaves a quoted field open: it continues on the next line
+            StringBuilder record = new StringBuilder(nextLine);
+            while (count % 2 != 0) {
+                String more = reader.readLine();
+                if (more == null) {
+                    nextUnterminated = true;
+                    break;
+                }
+                record.append('\n').append(more);
+                count += quotes(more);
+            }
+            nextLine = record.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String required(List<String> fields, String name) {
+        String value = field(fields, name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + name);
+        }
+        return value;
+    }
+
+    private String field(List<String> fields, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Quoted fields open and close with one quote and escape one as two, so a record is
+    // complete exactly when its quote count is even
+    private static long quotes(String line) {
+        return line.chars().filter(c -> c == '"').count();
+    }
+
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.dto.Dashboard;
+import com.example.expense_tracker.dto.TransactionFilter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the dashboard from four independent reads run concurrently on virtual threads,
+ * all for the user id already carried by the token. The whole response shares one
+ * deadline; parts that fail or are still running at the deadline are cancelled and
+ * reported as unavailable instead of failing the request.
+ */
+@Slf4j
+@Service
+public class DashboardService {
+
+    private static final TransactionFilter NO_FILTER = new TransactionFilter(null, null, null, null);
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    // Owned here rather than exposed as a bean, which would replace Boot's application task executor.
+    // Parts run with the caller's SecurityContext, which replica routing uses for read-your-writes.
+    private final ExecutorService fanOutExecutor =
+            new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+
+    @Value("${app.dashboard.deadline:2s}")
+    private Duration deadline;
+
+    @Value("${app.dashboard.trend-months:12}")
+    private int trendMonths;
+
+    public Dashboard getDashboard(Long userId, int recentCount) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+
+        var summary = fanOutExecutor.submit(() -> reportService.getSummary(userId));
+        var byCategory = fanOutExecutor.submit(() -> reportService.getTotalByCategory(userId));
+        var trend = fanOutExecutor.submit(() -> reportService.getMonthlyTrend(userId, trendMonths));
+        var recent = fanOutExecutor.submit(
+                () -> transactionService.getTransactionPage(userId, NO_FILTER, null, recentCount).items());
+
+        List<String> unavailable = new ArrayList<>();
+        return new Dashboard(
+                await("summary", summary, deadlineNanos, unavailable),
+                await("byCategory", byCategory, deadlineNanos, unavailable),
+                await("trend", trend, deadlineNanos, unavailable),
+                await("recent", recent, deadlineNanos, unavailable),
+                unavailable);
+    }
+
+    private <T> T await(String part, Future<T> future, long deadlineNanos, List<String> unavailable) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Dashboard part {} missed the {} deadline", part, deadline);
+        } catch (ExecutionException e) {
+            log.warn("Dashboard part {} failed", part, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        future.cancel(true);
+        unavailable.add(part);
+        return null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fanOutExecutor.shutdownNow();
+    }
+}
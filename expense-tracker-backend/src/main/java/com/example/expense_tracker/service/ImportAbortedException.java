@@ -0,0 +1,21 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.dto.ImportResult;
+
+/**
+ * A bulk import ended early on unreadable input. {@link #getResult()} counts the rows
+ * imported up to that point, which stay committed, and lists the unreadable row last.
+ */
+public class ImportAbortedException extends RuntimeException {
+
+    private final transient ImportResult result;
+
+    public ImportAbortedException(ImportResult result, Throwable cause) {
+        super("Import stopped after " + result.imported() + " imported rows", cause);
+        this.result = result;
+    }
+
+    public ImportResult getResult() {
+        return result;
+    }
+}
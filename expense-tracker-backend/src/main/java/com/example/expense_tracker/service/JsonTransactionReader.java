@@ -0,0 +1,81 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.entity.Transaction;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a JSON array of transactions element by element with Jackson's streaming parser.
+ * An element with unusable values fails only its row; broken JSON syntax ends the read
+ * with a {@link MalformedImportException}, since the next element cannot be found.
+ */
+public class JsonTransactionReader implements TransactionRowReader {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private int number;
+    private JsonToken next;
+    private JsonProcessingException broken;
+
+    public JsonTransactionReader(ObjectMapper objectMapper, InputStream in) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(in);
+        try {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of transactions");
+            }
+            this.next = parser.nextToken();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getOriginalMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return broken != null || (next != null && next != JsonToken.END_ARRAY);
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        number++;
+        if (broken != null) {
+            throw new MalformedImportException(number, broken.getOriginalMessage());
+        }
+        try {
+            // Materialise one element as a tree first, so a bad field only rejects
+            // this row and the parser stays positioned at the next element
+            JsonNode node = objectMapper.readTree(parser);
+            try {
+                next = parser.nextToken();
+            } catch (JsonProcessingException e) {
+                // Broken after this element: it is still returned, the next call reports the break
+                broken = e;
+            }
+            try {
+                return Row.parsed(number, objectMapper.treeToValue(node, Transaction.class));
+            } catch (JsonProcessingException e) {
+                return Row.failed(number, e.getOriginalMessage());
+            }
+        } catch (JsonProcessingException e) {
+            throw new MalformedImportException(number, e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
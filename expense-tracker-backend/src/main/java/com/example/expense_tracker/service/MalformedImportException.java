@@ -0,0 +1,19 @@
+package com.example.expense_tracker.service;
+
+/**
+ * The upload stopped being readable at row {@code row}, e.g. broken JSON syntax, so no
+ * further rows can be located. Rows before it are unaffected.
+ */
+public class MalformedImportException extends RuntimeException {
+
+    private final int row;
+
+    public MalformedImportException(int row, String message) {
+        super(message);
+        this.row = row;
+    }
+
+    public int getRow() {
+        return row;
+    }
+}
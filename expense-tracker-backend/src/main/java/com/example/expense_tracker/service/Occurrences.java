@@ -0,0 +1,210 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.dto.BucketTotal;
+import com.example.expense_tracker.dto.RecurringRuleView;
+import com.example.expense_tracker.dto.TransactionCursor;
+import com.example.expense_tracker.dto.TransactionExportRow;
+import com.example.expense_tracker.dto.TransactionFilter;
+import com.example.expense_tracker.dto.TrendInterval;
+import com.example.expense_tracker.dto.TransactionView;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Query-time expansion of recurring rules into virtual occurrences. Nothing here touches
+ * the database: callers pass the user's rules (cached by {@link RecurringRules}) and
+ * only the occurrences inside the requested window are ever generated.
+ */
+final class Occurrences {
+
+    private Occurrences() {
+    }
+
+    /**
+     * Virtual rows for one listing page, newest first per rule: those matching the filter,
+     * ranked after {@code after} and dated no earlier than {@code floor} (the date of the
+     * last stored row that still fits on the page; null when the stored rows ran out).
+     * At most {@code max} per rule, so the cost follows the page size, not the rule's age.
+     */
+    static List<TransactionView> forPage(List<RecurringRuleView> rules, TransactionFilter filter,
+                                         TransactionCursor after, LocalDate floor, int max, LocalDate today) {
+        List<TransactionView> rows = new ArrayList<>();
+        for (RecurringRuleView rule : rules) {
+            if ((filter.type() != null && rule.type() != filter.type())
+                    || (filter.category() != null && rule.category() != filter.category())) {
+                continue;
+            }
+            LocalDate last = earliest(rule.lastDate(today), filter.to());
+            if (after != null && after.date() != null) {
+                last = earliest(last, after.date());
+            }
+            LocalDate first = latest(latest(rule.startDate(), filter.from()), floor);
+
+            int produced = 0;
+            for (long i = rule.lastIndexOnOrBefore(last); i >= 0 && produced < max; i--) {
+                LocalDate date = rule.occurrence(i);
+                if (date.isBefore(first)) {
+                    break;
+                }
+                if (rule.exceptions().contains(date)) {
+                    continue;
+                }
+                // On the cursor's own date only the virtual rows ranked after it remain
+                if (after != null && date.equals(after.date()) && -rule.id() >= after.id()) {
+                    continue;
+                }
+                rows.add(rule.toView(date));
+                produced++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Totals of the virtual occurrences in {@code [from, to]} (null bounds are open) per
+     * {@code interval} bucket, or as one row with a null bucket start when
+     * {@code interval} is null. Several rows may share a bucket; callers add them up.
+     * Per rule this costs the smaller of its occurrences and the buckets in the range.
+     */
+    static List<BucketTotal> sum(List<RecurringRuleView> rules, LocalDate from, LocalDate to,
+                                 TrendInterval interval, LocalDate today) {
+        List<BucketTotal> totals = new ArrayList<>();
+        for (RecurringRuleView rule : rules) {
+            long count = rule.count(from, to, today);
+            if (count == 0) {
+                continue;
+            }
+            if (interval == null) {
+                totals.add(new BucketTotal(null, rule.type(), rule.category(), count * rule.amountMinor()));
+                continue;
+            }
+
+            LocalDate first = latest(rule.startDate(), from);
+            LocalDate last = earliest(rule.lastDate(today), to);
+            LocalDate firstBucket = interval.truncate(first);
+            long buckets = interval.unit().between(firstBucket, interval.truncate(last)) + 1;
+            if (count <= buckets) {
+                // Sparse: visit the occurrences themselves
+                for (long i = rule.lastIndexOnOrBefore(first.minusDays(1)) + 1; ; i++) {
+                    LocalDate date = rule.occurrence(i);
+                    if (date.isAfter(last)) {
+                        break;
+                    }
+                    if (!rule.exceptions().contains(date)) {
+                        totals.add(new BucketTotal(interval.truncate(date), rule.type(), rule.category(),
+                                rule.amountMinor()));
+                    }
+                }
+            } else {
+                // Dense: count each bucket in constant time
+                for (LocalDate bucket = firstBucket; !bucket.isAfter(last); bucket = bucket.plus(1, interval.unit())) {
+                    LocalDate bucketEnd = bucket.plus(1, interval.unit()).minusDays(1);
+                    long inBucket = rule.count(latest(bucket, first), earliest(bucketEnd, last), today);
+                    if (inBucket != 0) {
+                        totals.add(new BucketTotal(bucket, rule.type(), rule.category(),
+                                inBucket * rule.amountMinor()));
+                    }
+                }
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Expense totals in cents of the virtual occurrences in {@code [from, today]}, indexed by
+     * category ordinal, for budget spending. Constant time per rule.
+     */
+    static long[] expensesByCategory(List<RecurringRuleView> rules, LocalDate from, LocalDate today) {
+        long[] totals = new long[TransactionCategory.values().length];
+        for (BucketTotal total : sum(rules, from, today, null, today)) {
+            if (total.type() == TransactionType.EXPENSE) {
+                totals[total.category().ordinal()] += total.total();
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Virtual export rows in {@code [from, to]} in (date, negated rule id) order, generated
+     * one at a time while the export is written.
+     */
+    static Iterator<TransactionExportRow> forExport(List<RecurringRuleView> rules, LocalDate from, LocalDate to,
+                                                    LocalDate today) {
+        PriorityQueue<Position> queue = new PriorityQueue<>(Comparator
+                .comparing(Position::date)
+                .thenComparing(position -> -position.rule.id()));
+        for (RecurringRuleView rule : rules) {
+            LocalDate first = latest(rule.startDate(), from);
+            Position position = new Position(rule, rule.lastIndexOnOrBefore(first.minusDays(1)),
+                    earliest(rule.lastDate(today), to));
+            if (position.advance()) {
+                queue.add(position);
+            }
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !queue.isEmpty();
+            }
+
+            @Override
+            public TransactionExportRow next() {
+                Position position = queue.poll();
+                if (position == null) {
+                    throw new NoSuchElementException();
+                }
+                TransactionExportRow row = position.rule.toExportRow(position.date);
+                if (position.advance()) {
+                    queue.add(position);
+                }
+                return row;
+            }
+        };
+    }
+
+    // Next pending occurrence of one rule during the export merge
+    private static final class Position {
+        private final RecurringRuleView rule;
+        private final LocalDate last;
+        private long index;
+        private LocalDate date;
+
+        private Position(RecurringRuleView rule, long index, LocalDate last) {
+            this.rule = rule;
+            this.index = index;
+            this.last = last;
+        }
+
+        private LocalDate date() {
+            return date;
+        }
+
+        // Moves to the next generated occurrence; false once past the last date
+        private boolean advance() {
+            do {
+                date = rule.occurrence(++index);
+                if (date.isAfter(last)) {
+                    return false;
+                }
+            } while (rule.exceptions().contains(date));
+            return true;
+        }
+    }
+
+    private static LocalDate earliest(LocalDate date, LocalDate bound) {
+        return bound != null && bound.isBefore(date) ? bound : date;
+    }
+
+    private static LocalDate latest(LocalDate date, LocalDate bound) {
+        return bound != null && bound.isAfter(date) ? bound : date;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.repository.TransactionPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Keeps the yearly partitions of {@code transactions} in shape: creates this and next
+ * year's partition ahead of time, gives rows stranded in the default partition a
+ * partition of their own (or, for a year already archived, moves them into its archive
+ * partition) and, when enabled, moves years older than the horizon into
+ * {@code transactions_archive}.
+ *
+ * <p>Archived years are read-only: they no longer appear in the transaction list or delta
+ * sync and cannot be edited, but the export, trend report and rollups (and therefore the
+ * summary and by-category reports) still include them. Writes dated in them are rejected
+ * while archiving is enabled; rows that still reach the default partition, e.g. written
+ * after archiving was switched off, are moved into the archive.</p>
+ */
+@Slf4j
+@Component
+public class PartitionMaintenanceJob {
+
+    @Autowired
+    private TransactionPartitionRepository partitionRepository;
+
+    @Value("${app.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    // Years kept hot before the current one
+    @Value("${app.archive.horizon-years:5}")
+    private int horizonYears;
+
+    @Value("${app.archive.tablespace:}")
+    private String archiveTablespace;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.partitions.maintenance-cron:0 0 4 * * *}")
+    public void maintain() {
+        int currentYear = LocalDate.now().getYear();
+        Set<Integer> hot = partitionRepository.findYears(TransactionPartitionRepository.HOT);
+        Set<Integer> archived = partitionRepository.findYears(TransactionPartitionRepository.ARCHIVE);
+
+        for (int year = currentYear; year <= currentYear + 1; year++) {
+            createIfMissing(hot, year);
+        }
+        for (int year : partitionRepository.findYearsInDefault()) {
+            if (archived.contains(year)) {
+                // transactions_<year> exists under the archive, so creating it again would fail
+                moveToArchive(year);
+                continue;
+            }
+            log.info("Rows for {} are in the default partition, moving them to their own", year);
+            createIfMissing(hot, year);
+        }
+
+        if (!archiveEnabled) {
+            return;
+        }
+        int oldestHot = currentYear - horizonYears;
+        for (int year : hot) {
+            if (year >= oldestHot) {
+                continue;
+            }
+            try {
+                partitionRepository.archiveYear(year, archiveTablespace);
+                log.info("Archived transactions of {}", year);
+            } catch (RuntimeException e) {
+                log.warn("Archiving transactions of {} failed", year, e);
+            }
+        }
+    }
+
+    private void moveToArchive(int year) {
+        try {
+            int moved = partitionRepository.moveDefaultToArchive(year);
+            log.warn("Moved {} rows for archived {} out of the default partition", moved, year);
+        } catch (RuntimeException e) {
+            log.warn("Moving rows for archived {} out of the default partition failed", year, e);
+        }
+    }
+
+    private void createIfMissing(Set<Integer> hot, int year) {
+        if (hot.contains(year)) {
+            return;
+        }
+        // Another instance may be doing the same; the loser just logs
+        try {
+            partitionRepository.createYear(year);
+            hot.add(year);
+            log.info("Created transactions partition for {}", year);
+        } catch (RuntimeException e) {
+            log.warn("Creating the transactions partition for {} failed", year, e);
+        }
+    }
+}
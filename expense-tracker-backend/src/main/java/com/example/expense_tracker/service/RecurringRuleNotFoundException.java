@@ -0,0 +1,18 @@
+package com.example.expense_tracker.service;
+
+import java.time.LocalDate;
+
+/**
+ * No recurring rule with that id belongs to the user, or the rule has no pending
+ * occurrence on the requested date.
+ */
+public class RecurringRuleNotFoundException extends RuntimeException {
+
+    public RecurringRuleNotFoundException(Long ruleId) {
+        super("Recurring rule not found for this user: " + ruleId);
+    }
+
+    public RecurringRuleNotFoundException(Long ruleId, LocalDate date) {
+        super("Recurring rule " + ruleId + " has no pending occurrence on " + date);
+    }
+}
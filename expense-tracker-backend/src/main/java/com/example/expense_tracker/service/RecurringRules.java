@@ -0,0 +1,48 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.dto.RecurringRuleView;
+import com.example.expense_tracker.repository.RecurringRuleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The user's recurring rules as read by the listing, reports and export. Cached per user
+ * in {@link ChangeSeqCache}, so expanding occurrences usually costs no statement beyond
+ * the change sequence lookup.
+ */
+@Component
+public class RecurringRules {
+
+    public static final String CACHE = "recurringRules";
+
+    @Autowired
+    private RecurringRuleRepository ruleRepository;
+
+    @Autowired
+    private ChangeSeqCache changeSeqCache;
+
+    @Transactional(readOnly = true)
+    public List<RecurringRuleView> getRules(Long userId) {
+        return changeSeqCache.get(CACHE, userId, () -> loadRules(userId));
+    }
+
+    private List<RecurringRuleView> loadRules(Long userId) {
+        Map<Long, RecurringRuleView> rules = new LinkedHashMap<>();
+        Map<Long, List<LocalDate>> exceptions = new LinkedHashMap<>();
+        for (RecurringRuleView row : ruleRepository.findViewsByUserId(userId)) {
+            rules.putIfAbsent(row.id(), row);
+            List<LocalDate> dates = exceptions.computeIfAbsent(row.id(), id -> new ArrayList<>());
+            dates.addAll(row.exceptions());
+        }
+        return rules.values().stream()
+                .map(rule -> rule.withExceptions(exceptions.get(rule.id())))
+                .toList();
+    }
+}
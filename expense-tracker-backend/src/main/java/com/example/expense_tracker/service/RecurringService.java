@@ -0,0 +1,169 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.dto.RecurringRuleRequest;
+import com.example.expense_tracker.dto.RecurringRuleView;
+import com.example.expense_tracker.dto.TransactionPatch;
+import com.example.expense_tracker.entity.RecurringException;
+import com.example.expense_tracker.entity.RecurringExceptionId;
+import com.example.expense_tracker.entity.RecurringRule;
+import com.example.expense_tracker.entity.Transaction;
+import com.example.expense_tracker.event.TransactionChangedEvent;
+import com.example.expense_tracker.repository.RecurringExceptionRepository;
+import com.example.expense_tracker.repository.RecurringRuleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Writes of recurring rules. A rule is stored once; its occurrences are generated at
+ * query time (see {@link Occurrences}) and only become transactions when confirmed or
+ * edited one by one. Changing a rule therefore changes every occurrence that is still
+ * virtual, and none that was materialized.
+ */
+@Service
+public class RecurringService {
+
+    @Autowired
+    private RecurringRuleRepository ruleRepository;
+
+    @Autowired
+    private RecurringExceptionRepository exceptionRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @throws IllegalArgumentException if a required field is missing or invalid
+     */
+    @Transactional
+    public RecurringRuleView createRule(Long userId, RecurringRuleRequest request) {
+        RecurringRule rule = new RecurringRule();
+        apply(rule, request);
+        rule.setUser(userService.getUserReference(userId));
+        RecurringRule saved = ruleRepository.save(rule);
+        changed(userId);
+        return RecurringRuleView.of(saved);
+    }
+
+    /**
+     * Replaces the rule; occurrences not yet materialized follow the new schedule and values.
+     */
+    @Transactional
+    public RecurringRuleView updateRule(Long userId, Long ruleId, RecurringRuleRequest request) {
+        RecurringRule rule = ruleRepository.findByIdAndUserId(ruleId, userId)
+                .orElseThrow(() -> new RecurringRuleNotFoundException(ruleId));
+        if (request.version() != null && !request.version().equals(rule.getVersion())) {
+            throw new OptimisticLockingFailureException(
+                    "Recurring rule " + ruleId + " was changed since version " + request.version());
+        }
+        apply(rule, request);
+        // Flushed here so the returned version is the new one
+        ruleRepository.saveAndFlush(rule);
+        changed(userId);
+        return RecurringRuleView.of(rule);
+    }
+
+    /**
+     * Removes the rule and all of its virtual occurrences; materialized ones stay.
+     */
+    @Transactional
+    public void deleteRule(Long userId, Long ruleId) {
+        RecurringRule rule = ruleRepository.findByIdAndUserId(ruleId, userId)
+                .orElseThrow(() -> new RecurringRuleNotFoundException(ruleId));
+        ruleRepository.delete(rule);
+        changed(userId);
+    }
+
+    /**
+     * Stores the occurrence on {@code date} as a transaction, with the non-null fields of
+     * {@code changes} (if any) overriding the rule's. The rule stops generating it.
+     *
+     * @throws RecurringRuleNotFoundException if the rule does not exist or has no pending
+     *                                        occurrence on that date
+     */
+    @Transactional
+    public Transaction materialize(Long userId, Long ruleId, LocalDate date, TransactionPatch changes) {
+        RecurringRule rule = pendingOccurrence(userId, ruleId, date);
+        TransactionPatch overrides = changes != null ? changes
+                : new TransactionPatch(null, null, null, null, null, null, null);
+
+        Transaction transaction = Transaction.builder()
+                .title(overrides.title() != null ? overrides.title() : rule.getTitle())
+                .amountMinor(overrides.amountMinor() != null ? overrides.amountMinor() : rule.getAmountMinor())
+                .type(overrides.type() != null ? overrides.type() : rule.getType())
+                .category(overrides.category() != null ? overrides.category() : rule.getCategory())
+                .date(overrides.date() != null ? overrides.date() : date)
+                .note(overrides.note() != null ? overrides.note() : rule.getNote())
+                .user(rule.getUser())
+                .build();
+        // Regular write path: validation, change sequence, rollups, budgets and the change event
+        Transaction saved = transactionService.saveTransaction(transaction);
+        exceptionRepository.save(new RecurringException(new RecurringExceptionId(ruleId, date), saved.getId()));
+        return saved;
+    }
+
+    /**
+     * Drops the occurrence on {@code date} without storing anything else.
+     *
+     * @throws RecurringRuleNotFoundException as for {@link #materialize}
+     */
+    @Transactional
+    public void skip(Long userId, Long ruleId, LocalDate date) {
+        pendingOccurrence(userId, ruleId, date);
+        exceptionRepository.save(new RecurringException(new RecurringExceptionId(ruleId, date), null));
+        changed(userId);
+    }
+
+    private RecurringRule pendingOccurrence(Long userId, Long ruleId, LocalDate date) {
+        RecurringRule rule = ruleRepository.findByIdAndUserId(ruleId, userId)
+                .orElseThrow(() -> new RecurringRuleNotFoundException(ruleId));
+        // Future occurrences may be confirmed ahead of time, e.g. a bill paid early
+        if (!RecurringRuleView.of(rule).isScheduledOn(date)
+                || exceptionRepository.existsById(new RecurringExceptionId(ruleId, date))) {
+            throw new RecurringRuleNotFoundException(ruleId, date);
+        }
+        return rule;
+    }
+
+    private static void apply(RecurringRule rule, RecurringRuleRequest request) {
+        TransactionService.checkCategory(request.type(), request.category());
+        if (request.amountMinor() == null) {
+            throw new IllegalArgumentException("Amount is required");
+        }
+        if (request.frequency() == null || request.startDate() == null) {
+            throw new IllegalArgumentException("Frequency and start date are required");
+        }
+        int every = request.every() == null ? 1 : request.every();
+        if (every < 1) {
+            throw new IllegalArgumentException("every must be at least 1");
+        }
+        if (request.endDate() != null && request.endDate().isBefore(request.startDate())) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        rule.setTitle(request.title());
+        rule.setAmountMinor(request.amountMinor());
+        rule.setType(request.type());
+        rule.setCategory(request.category());
+        rule.setNote(request.note());
+        rule.setFrequency(request.frequency());
+        rule.setRepeatEvery(every);
+        rule.setStartDate(request.startDate());
+        rule.setEndDate(request.endDate());
+    }
+
+    // Occurrences changed without a transactions write: same versioning and events as one
+    private void changed(Long userId) {
+        userService.nextChangeSeq(userId, 1);
+        eventPublisher.publishEvent(new TransactionChangedEvent(userId));
+    }
+}
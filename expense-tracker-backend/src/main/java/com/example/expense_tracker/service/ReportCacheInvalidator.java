@@ -0,0 +1,41 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.event.TransactionChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Evicts exactly the writing user's cached reports (and recurring rules) once the write
+ * has committed. This only frees the memory early: a read that started before the commit
+ * may still put its pre-commit totals back afterwards, and it is {@link ChangeSeqCache}
+ * that never serves such an entry, since it carries the previous change sequence.
+ */
+@Component
+public class ReportCacheInvalidator {
+
+    private static final List<String> CACHES = Stream.concat(ReportService.CACHES.stream(),
+            Stream.of(RecurringRules.CACHE)).toList();
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        for (String name : CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.evict(event.userId());
+            }
+        }
+    }
+}
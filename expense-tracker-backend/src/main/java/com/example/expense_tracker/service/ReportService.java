@@ -1,56 +1,220 @@
 package com.example.expense_tracker.service;
 
 
-import com.example.expense_tracker.entity.Transaction;
+import com.example.expense_tracker.dto.BucketTotal;
+import com.example.expense_tracker.dto.CategoryTotal;
+import com.example.expense_tracker.dto.MonthTypeTotal;
+import com.example.expense_tracker.dto.TrendBucket;
+import com.example.expense_tracker.dto.TrendGroupBy;
+import com.example.expense_tracker.dto.TrendInterval;
+import com.example.expense_tracker.dto.TrendPoint;
+import com.example.expense_tracker.dto.TrendReport;
+import com.example.expense_tracker.dto.TypeTotal;
+import com.example.expense_tracker.entity.Money;
+import com.example.expense_tracker.entity.TransactionCategory;
 import com.example.expense_tracker.entity.TransactionType;
+import com.example.expense_tracker.dto.RollupRow;
+import com.example.expense_tracker.repository.MonthlyRollupRepository;
+import com.example.expense_tracker.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @Service
 public class ReportService {
 
+    public static final String SUMMARY_CACHE = "reportSummary";
+    public static final String BY_CATEGORY_CACHE = "reportByCategory";
+    public static final List<String> CACHES = List.of(SUMMARY_CACHE, BY_CATEGORY_CACHE);
+
+    // Upper bound on trend buckets per request: a year of days
+    public static final int MAX_TREND_BUCKETS = 366;
+
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
     @Autowired
-    private TransactionService transactionService;
+    private RecurringRules recurringRules;
 
-    public Map<String, Double> getSummary(Long userId){
-        List<Transaction> transactions = transactionService.getAllTransaction(userId);
+    @Autowired
+    private ChangeSeqCache changeSeqCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> getSummary(Long userId){
+        // Timed inside the cache lookup, so this measures misses only
+        return changeSeqCache.get(SUMMARY_CACHE, userId,
+                () -> meterRegistry.timer("report.service", "method", "getSummary").record(() -> summarize(userId)));
+    }
 
-        double totalIncome = 0;
-        double totalExpense = 0;
+    private Map<String, BigDecimal> summarize(Long userId){
+        // Cents per type, indexed by ordinal: exact and no boxing while summing
+        long[] totals = new long[TransactionType.values().length];
 
-        for(Transaction t : transactions){
-            if("income".equalsIgnoreCase(String.valueOf(t.getType()))){
-                totalIncome += t.getAmount();
-            } else if("expense".equalsIgnoreCase(String.valueOf(t.getType()))) {
-                totalExpense += t.getAmount();
+        // Summed over the user's monthly rollups: O(months), not O(transactions)
+        for(TypeTotal row : rollupRepository.sumTotalByType(userId)){
+            if(row.type() != null){
+                totals[row.type().ordinal()] += row.total();
             }
         }
+        // Plus every due occurrence of the recurring rules, counted rather than generated
+        for(BucketTotal row : Occurrences.sum(recurringRules.getRules(userId), null, null, null, LocalDate.now())){
+            totals[row.type().ordinal()] += row.total();
+        }
 
-        double netBalance = totalIncome - totalExpense;
+        long totalIncome = totals[TransactionType.INCOME.ordinal()];
+        long totalExpense = totals[TransactionType.EXPENSE.ordinal()];
 
-        Map<String, Double> summary = new HashMap<>();
-        summary.put("income", totalIncome);
-        summary.put("expense", totalExpense);
-        summary.put("netBalance", netBalance);
+        Map<String, BigDecimal> summary = new HashMap<>();
+        summary.put("income", Money.toDecimal(totalIncome));
+        summary.put("expense", Money.toDecimal(totalExpense));
+        summary.put("netBalance", Money.toDecimal(totalIncome - totalExpense));
 
         return summary;
     }
 
-    public Map<String, Double> getTotalByCategory(Long userId){
-        List<Transaction> transactions = transactionService.getAllTransaction(userId);
+    @Transactional(readOnly = true)
+    public Map<TransactionCategory, BigDecimal> getTotalByCategory(Long userId){
+        return changeSeqCache.get(BY_CATEGORY_CACHE, userId,
+                () -> meterRegistry.timer("report.service", "method", "getTotalByCategory").record(() -> totalByCategory(userId)));
+    }
 
-        Map<String, Double> categoryTotals = new HashMap<>();
+    private Map<TransactionCategory, BigDecimal> totalByCategory(Long userId){
+        // Cents per category, indexed by ordinal as in summarize; only categories with rows are reported
+        TransactionCategory[] categories = TransactionCategory.values();
+        long[] totals = new long[categories.length];
+        boolean[] present = new boolean[categories.length];
 
-        for(Transaction t : transactions){
-            String category = t.getCategory().name();
-            categoryTotals.put(category, categoryTotals.getOrDefault(category, 0.0) + t.getAmount());
+        for(CategoryTotal row : rollupRepository.sumTotalByCategory(userId)){
+            if(row.category() != null){
+                totals[row.category().ordinal()] += row.total();
+                present[row.category().ordinal()] = true;
+            }
+        }
+        for(BucketTotal row : Occurrences.sum(recurringRules.getRules(userId), null, null, null, LocalDate.now())){
+            totals[row.category().ordinal()] += row.total();
+            present[row.category().ordinal()] = true;
         }
 
+        Map<TransactionCategory, BigDecimal> categoryTotals = new EnumMap<>(TransactionCategory.class);
+        for(TransactionCategory category : categories){
+            if(present[category.ordinal()]){
+                categoryTotals.put(category, Money.toDecimal(totals[category.ordinal()]));
+            }
+        }
         return categoryTotals;
     }
+
+    /**
+     * Income and expense for each of the last {@code months} calendar months, oldest first.
+     * Not cached: the window moves with the calendar, and it is O(months) over the rollups.
+     */
+    @Transactional(readOnly = true)
+    public List<TrendPoint> getMonthlyTrend(Long userId, int months){
+        return meterRegistry.timer("report.service", "method", "getMonthlyTrend").record(() -> monthlyTrend(userId, months));
+    }
+
+    private List<TrendPoint> monthlyTrend(Long userId, int months){
+        LocalDate first = YearMonth.now().minusMonths(months - 1).atDay(1);
+
+        // Cents per (month offset, type ordinal); months without rollups stay zero
+        long[][] totals = new long[months][TransactionType.values().length];
+        for(MonthTypeTotal row : rollupRepository.sumTotalByMonthAndType(userId, first)){
+            int offset = (int) ChronoUnit.MONTHS.between(first, row.monthStart());
+            if(offset >= 0 && offset < months && row.type() != null){
+                totals[offset][row.type().ordinal()] += row.total();
+            }
+        }
+        for(BucketTotal row : Occurrences.sum(recurringRules.getRules(userId), first, null, TrendInterval.MONTH, LocalDate.now())){
+            int offset = (int) ChronoUnit.MONTHS.between(first, row.bucketStart());
+            if(offset >= 0 && offset < months){
+                totals[offset][row.type().ordinal()] += row.total();
+            }
+        }
+
+        List<TrendPoint> trend = new ArrayList<>(months);
+        for(int i = 0; i < months; i++){
+            trend.add(new TrendPoint(first.plusMonths(i),
+                    Money.toDecimal(totals[i][TransactionType.INCOME.ordinal()]),
+                    Money.toDecimal(totals[i][TransactionType.EXPENSE.ordinal()])));
+        }
+        return trend;
+    }
+
+    /**
+     * Totals over {@code [from, to]} per {@code interval} bucket, broken down by type or
+     * category and zero-filled. Whole-month ranges in monthly buckets are read from the
+     * rollups; anything else is summed in the database over just the dated range. Due
+     * occurrences of recurring rules are added from the rules themselves.
+     *
+     * @throws IllegalArgumentException if {@code from} is after {@code to} or the range
+     *                                  spans more than {@link #MAX_TREND_BUCKETS} buckets
+     */
+    @Transactional(readOnly = true)
+    public TrendReport getTrend(Long userId, LocalDate from, LocalDate to, TrendInterval interval, TrendGroupBy groupBy){
+        if(from.isAfter(to)){
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        LocalDate first = interval.truncate(from);
+        long buckets = interval.unit().between(first, interval.truncate(to)) + 1;
+        if(buckets > MAX_TREND_BUCKETS){
+            throw new IllegalArgumentException("Range spans " + buckets + " buckets, at most " + MAX_TREND_BUCKETS + " allowed");
+        }
+        return meterRegistry.timer("report.service", "method", "getTrend")
+                .record(() -> trend(userId, from, to, interval, groupBy, first, (int) buckets));
+    }
+
+    private TrendReport trend(Long userId, LocalDate from, LocalDate to, TrendInterval interval, TrendGroupBy groupBy,
+                              LocalDate first, int buckets){
+        boolean wholeMonths = interval == TrendInterval.MONTH
+                && from.getDayOfMonth() == 1
+                && to.getDayOfMonth() == to.lengthOfMonth();
+        List<BucketTotal> rows = new ArrayList<>(wholeMonths
+                // Undated rows are kept in the epoch month of the rollups; they belong to no range
+                ? rollupRepository.findBuckets(userId, from, to).stream()
+                        .filter(row -> !RollupRow.UNDATED_MONTH.equals(row.bucketStart()))
+                        .toList()
+                : transactionRepository.sumByBucket(userId, from, to, interval));
+        // Occurrences of recurring rules inside the range only, whenever the rules started
+        rows.addAll(Occurrences.sum(recurringRules.getRules(userId), from, to, interval, LocalDate.now()));
+
+        Enum<?>[] keys = groupBy == TrendGroupBy.TYPE ? TransactionType.values() : TransactionCategory.values();
+
+        // Cents per (bucket offset, key ordinal); empty buckets stay zero
+        long[][] totals = new long[buckets][keys.length];
+        for(BucketTotal row : rows){
+            Enum<?> key = groupBy == TrendGroupBy.TYPE ? row.type() : row.category();
+            int offset = (int) interval.unit().between(first, row.bucketStart());
+            if(key != null && offset >= 0 && offset < buckets){
+                totals[offset][key.ordinal()] += row.total();
+            }
+        }
+
+        List<TrendBucket> result = new ArrayList<>(buckets);
+        for(int i = 0; i < buckets; i++){
+            Map<String, BigDecimal> bucketTotals = new LinkedHashMap<>();
+            for(Enum<?> key : keys){
+                bucketTotals.put(key.name(), Money.toDecimal(totals[i][key.ordinal()]));
+            }
+            result.add(new TrendBucket(first.plus(i, interval.unit()), bucketTotals));
+        }
+        return new TrendReport(from, to, interval, groupBy, result);
+    }
 }
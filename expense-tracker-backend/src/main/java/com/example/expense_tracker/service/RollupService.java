@@ -0,0 +1,152 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.dto.RollupDrift;
+import com.example.expense_tracker.dto.RollupRow;
+import com.example.expense_tracker.entity.MonthlyRollup;
+import com.example.expense_tracker.entity.MonthlyRollupId;
+import com.example.expense_tracker.entity.Transaction;
+import com.example.expense_tracker.event.TransactionChangedEvent;
+import com.example.expense_tracker.repository.MonthlyRollupRepository;
+import com.example.expense_tracker.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class RollupService {
+
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetTracker budgetTracker;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Write-path hooks: always called from inside the TransactionService transaction
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void added(Long userId, Transaction transaction) {
+        apply(userId, RollupRow.of(transaction));
+    }
+
+    /**
+     * Folds a chunk of new rows into per-bucket deltas first, so a bulk insert costs
+     * one upsert per touched bucket instead of one per row.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addedAll(Long userId, Collection<Transaction> transactions) {
+        foldByBucket(transactions).forEach(delta -> apply(userId, delta));
+    }
+
+    /**
+     * Sums rows per (month, type, category) bucket in memory.
+     */
+    static Collection<RollupRow> foldByBucket(Collection<Transaction> transactions) {
+        Map<MonthlyRollupId, RollupRow> deltas = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            RollupRow row = RollupRow.of(transaction);
+            deltas.merge(new MonthlyRollupId(null, row.monthStart(), row.type(), row.category()), row, RollupRow::plus);
+        }
+        return deltas.values();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removed(Long userId, RollupRow previous) {
+        apply(userId, previous.negate());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replaced(Long userId, RollupRow previous, Transaction updated) {
+        RollupRow current = RollupRow.of(updated);
+        if (previous.sameBucket(current)) {
+            // Same bucket: one upsert carrying only the amount delta, or nothing at all
+            long delta = current.total() - previous.total();
+            if (delta != 0) {
+                apply(userId, new RollupRow(current.monthStart(), current.type(), current.category(), delta, 0));
+            }
+            return;
+        }
+        apply(userId, previous.negate());
+        apply(userId, current);
+    }
+
+    private void apply(Long userId, RollupRow delta) {
+        // Legacy rows without type or category were never counted (see insertFromTransactions)
+        if (delta.type() == null || delta.category() == null) {
+            return;
+        }
+        rollupRepository.addToBucket(userId, delta.monthStart(), delta.type().name(), delta.category().name(),
+                delta.total(), delta.count());
+        budgetTracker.track(userId, delta);
+    }
+
+    // Rebuild / verify
+
+    @Transactional
+    public void rebuild(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        rollupRepository.insertFromTransactions(userId);
+        // Report totals may have changed: invalidate cached reports and clients' ETags
+        userService.nextChangeSeq(userId, 1);
+        eventPublisher.publishEvent(new TransactionChangedEvent(userId));
+    }
+
+    /**
+     * Recomputes every bucket of the user from the raw transactions and returns
+     * the buckets where the stored rollup disagrees. Empty means no drift.
+     */
+    @Transactional(readOnly = true)
+    public List<RollupDrift> verify(Long userId) {
+        Map<MonthlyRollupId, MonthlyRollup> stored = new HashMap<>();
+        for (MonthlyRollup rollup : rollupRepository.findByIdUserId(userId)) {
+            stored.put(rollup.getId(), rollup);
+        }
+
+        List<RollupDrift> drifts = new ArrayList<>();
+        for (RollupRow expected : transactionRepository.aggregateByMonth(userId)) {
+            MonthlyRollupId id = new MonthlyRollupId(userId, expected.monthStart(), expected.type(), expected.category());
+            MonthlyRollup actual = stored.remove(id);
+            long storedTotal = actual == null ? 0 : actual.getTotal();
+            long storedCount = actual == null ? 0 : actual.getCount();
+            // Cents are exact, so any difference at all is drift
+            if (expected.total() != storedTotal || expected.count() != storedCount) {
+                drifts.add(new RollupDrift(userId, id.getMonthStart(), id.getType(), id.getCategory(),
+                        expected.total(), storedTotal, expected.count(), storedCount));
+            }
+        }
+
+        // Whatever is left has no raw rows behind it; emptied buckets are expected
+        for (MonthlyRollup orphan : stored.values()) {
+            if (orphan.getTotal() != 0 || orphan.getCount() != 0) {
+                MonthlyRollupId id = orphan.getId();
+                drifts.add(new RollupDrift(userId, id.getMonthStart(), id.getType(), id.getCategory(),
+                        0, orphan.getTotal(), 0, orphan.getCount()));
+            }
+        }
+        return drifts;
+    }
+
+    public boolean isEmpty() {
+        return rollupRepository.count() == 0;
+    }
+
+    public List<Long> findUserIds() {
+        return transactionRepository.findDistinctUserIds();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.dto.RollupDrift;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically recomputes the monthly rollups from raw transactions and reports
+ * any drift; optionally repairs drifted users by rebuilding their buckets.
+ */
+@Slf4j
+@Component
+public class RollupVerificationJob {
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private BudgetTracker budgetTracker;
+
+    @Value("${app.rollup.auto-repair:true}")
+    private boolean autoRepair;
+
+    // First start after the rollup table was introduced: backfill everybody.
+    // Budget counters are loaded from the rollups, so only once they are complete.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (rollupService.isEmpty()) {
+            List<Long> userIds = rollupService.findUserIds();
+            log.info("Monthly rollups are empty, rebuilding for {} users", userIds.size());
+            userIds.forEach(rollupService::rebuild);
+        }
+        budgetTracker.reconcile();
+    }
+
+    @Scheduled(cron = "${app.rollup.verify-cron:0 30 3 * * *}")
+    public void verifyAll() {
+        int drifted = 0;
+        for (Long userId : rollupService.findUserIds()) {
+            List<RollupDrift> drifts = rollupService.verify(userId);
+            if (drifts.isEmpty()) {
+                continue;
+            }
+            drifted++;
+            drifts.forEach(d -> log.warn("Rollup drift: {}", d));
+            if (autoRepair) {
+                rollupService.rebuild(userId);
+            }
+        }
+        if (autoRepair && drifted > 0) {
+            budgetTracker.reconcile();
+        }
+        log.info("Rollup verification finished, {} users drifted{}", drifted,
+                autoRepair && drifted > 0 ? " and were rebuilt" : "");
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.dto.ImportResult;
+import com.example.expense_tracker.entity.Transaction;
+import com.example.expense_tracker.event.TransactionChangedEvent;
+import com.example.expense_tracker.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk import: rows are validated one by one and written in chunks, each chunk in its
+ * own database transaction. Inserts go out as JDBC batches (hibernate.jdbc.batch_size)
+ * and the persistence context is cleared after every chunk, so memory stays bounded
+ * by the chunk size regardless of the upload size.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.import.chunk-size:5000}")
+    private int chunkSize;
+
+    /**
+     * @throws ImportAbortedException if the input becomes unreadable part-way; the rows
+     *                                before that point are imported
+     */
+    public ImportResult importTransactions(Long userId, TransactionRowReader reader) {
+        List<Transaction> chunk = new ArrayList<>(chunkSize);
+        List<ImportResult.RowError> errors = new ArrayList<>();
+        int imported = 0;
+        int failed = 0;
+
+        while (reader.hasNext()) {
+            TransactionRowReader.Row row;
+            try {
+                row = reader.next();
+            } catch (MalformedImportException e) {
+                // Rows before the break are kept as if the upload had ended there
+                if (!chunk.isEmpty()) {
+                    imported += writeChunk(userId, chunk);
+                }
+                failed++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ImportResult.RowError(e.getRow(), e.getMessage()));
+                }
+                throw new ImportAbortedException(new ImportResult(imported, failed, errors), e);
+            }
+            String error = row.error();
+            if (error == null) {
+                try {
+                    transactionService.validateCategoryByType(row.transaction());
+                    transactionService.checkNotArchived(row.transaction().getDate());
+                } catch (IllegalArgumentException e) {
+                    error = e.getMessage();
+                }
+            }
+            if (error != null) {
+                failed++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ImportResult.RowError(row.number(), error));
+                }
+                continue;
+            }
+
+            chunk.add(row.transaction());
+            if (chunk.size() == chunkSize) {
+                imported += writeChunk(userId, chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += writeChunk(userId, chunk);
+        }
+        return new ImportResult(imported, failed, errors);
+    }
+
+    private int writeChunk(Long userId, List<Transaction> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            var user = userService.getUserReference(userId);
+            // One sequence reservation per chunk; each row still gets its own number
+            long changeSeq = userService.nextChangeSeq(userId, chunk.size()) - chunk.size();
+            for (Transaction transaction : chunk) {
+                transaction.setId(null);
+                transaction.setUser(user);
+                transaction.setChangeSeq(++changeSeq);
+            }
+            transactionRepository.saveAll(chunk);
+            rollupService.addedAll(userId, chunk);
+            eventPublisher.publishEvent(new TransactionChangedEvent(userId));
+            entityManager.flush();
+            // The request-scoped persistence context would otherwise keep every imported row
+            entityManager.clear();
+        });
+        return chunk.size();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.expense_tracker.service;
+
+/**
+ * No transaction with that id belongs to the user.
+ */
+public class TransactionNotFoundException extends RuntimeException {
+
+    public TransactionNotFoundException(Long transactionId) {
+        super("Transaction not found for this user: " + transactionId);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.entity.Transaction;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Streams parsed import rows one at a time so an upload is never held in memory.
+ */
+public interface TransactionRowReader extends Iterator<TransactionRowReader.Row>, Closeable {
+
+    /**
+     * Either a parsed {@code transaction} or the {@code error} that made row
+     * {@code number} unreadable (1-based, data rows only).
+     */
+    record Row(int number, Transaction transaction, String error) {
+
+        static Row parsed(int number, Transaction transaction) {
+            return new Row(number, transaction, null);
+        }
+
+        static Row failed(int number, String error) {
+            return new Row(number, null, error);
+        }
+    }
+}
@@ -1,24 +1,70 @@
 package com.example.expense_tracker.service;
 
+import com.example.expense_tracker.dto.RecurringRuleView;
+import com.example.expense_tracker.dto.RollupRow;
+import com.example.expense_tracker.dto.SearchCursor;
+import com.example.expense_tracker.dto.SearchHit;
+import com.example.expense_tracker.dto.TransactionChanges;
+import com.example.expense_tracker.dto.TransactionCursor;
+import com.example.expense_tracker.dto.TransactionFilter;
+import com.example.expense_tracker.dto.TransactionPage;
+import com.example.expense_tracker.dto.TransactionPatch;
+import com.example.expense_tracker.dto.TransactionView;
+import com.example.expense_tracker.dto.UpdatedTransaction;
 import com.example.expense_tracker.entity.Transaction;
 import com.example.expense_tracker.entity.TransactionCategory;
 import com.example.expense_tracker.entity.TransactionType;
+import com.example.expense_tracker.event.TransactionChangedEvent;
 import com.example.expense_tracker.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
 
 @Service
 public class TransactionService {
+
+    public static final int MIN_SEARCH_LENGTH = 3;
+
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RecurringRules recurringRules;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${app.archive.horizon-years:5}")
+    private int archiveHorizonYears;
+
+    // The listing's order; PostgreSQL sorts NULL dates first in DESC
+    private static final Comparator<TransactionView> LISTING_ORDER = Comparator
+            .comparing(TransactionView::date, Comparator.nullsFirst(Comparator.<LocalDate>reverseOrder()))
+            .thenComparing(Comparator.comparingLong(TransactionView::sortId).reversed());
+
     // Define valid categories matching your TransactionCategory enum
-    private static final Set<TransactionCategory> EXPENSE_CATEGORIES = EnumSet.of(
+    static final Set<TransactionCategory> EXPENSE_CATEGORIES = EnumSet.of(
             TransactionCategory.FOOD,
             TransactionCategory.GROCERIES,
             TransactionCategory.RENT,
@@ -40,42 +86,160 @@ public class TransactionService {
             TransactionCategory.OTHER_INCOME
     );
 
-    public List<Transaction> getAllTransaction(Long userId) {
-        return transactionRepository.findByUserId(userId);
+    /**
+     * One page of stored rows and due recurring occurrences, merged in (date DESC, id DESC)
+     * order; an occurrence ranks by its negated rule id (see {@link TransactionView#sortId()}).
+     */
+    @Transactional(readOnly = true)
+    public TransactionPage<TransactionView> getTransactionPage(Long userId, TransactionFilter filter, String cursor, int limit) {
+        TransactionCursor after = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<TransactionView> rows = transactionRepository.findPage(userId, filter, after, limit + 1);
+        List<RecurringRuleView> rules = recurringRules.getRules(userId);
+        // A full page of undated rows ranks before every occurrence: nothing to merge
+        boolean full = rows.size() > limit;
+        if (!rules.isEmpty() && !(full && rows.get(limit).date() == null)) {
+            // Occurrences older than the last stored row that fits cannot make this page
+            LocalDate floor = full ? rows.get(limit).date() : null;
+            List<TransactionView> merged = new ArrayList<>(rows);
+            merged.addAll(Occurrences.forPage(rules, filter, after, floor, limit + 1, LocalDate.now()));
+            merged.sort(LISTING_ORDER);
+            rows = merged.size() > limit + 1 ? merged.subList(0, limit + 1) : merged;
+        }
+        if (rows.size() <= limit) {
+            return new TransactionPage<>(rows, null);
+        }
+
+        List<TransactionView> items = rows.subList(0, limit);
+        TransactionView last = items.get(limit - 1);
+        return new TransactionPage<>(items, new TransactionCursor(last.date(), last.sortId()).encode());
     }
 
-    public Optional<Transaction> getTransactionByIdAndUserId(Long transactionId, Long userId) {
-        Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, userId);
-        return Optional.ofNullable(transaction);
+    /**
+     * Ranked title/note search, keyset-paginated like the listing.
+     *
+     * @throws IllegalArgumentException if the query is shorter than {@link #MIN_SEARCH_LENGTH}
+     *                                  characters or the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public TransactionPage<TransactionView> searchTransactions(Long userId, String query, String cursor, int limit) {
+        String normalized = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+        // Shorter queries have no trigram to look up and would scan the whole index
+        if (normalized.length() < MIN_SEARCH_LENGTH) {
+            throw new IllegalArgumentException("Search needs at least " + MIN_SEARCH_LENGTH + " characters");
+        }
+        SearchCursor after = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+
+        List<SearchHit> hits = transactionRepository.search(userId, normalized, after, limit + 1);
+        List<TransactionView> items = hits.stream().limit(limit).map(SearchHit::transaction).toList();
+        if (hits.size() <= limit) {
+            return new TransactionPage<>(items, null);
+        }
+        SearchHit last = hits.get(limit - 1);
+        return new TransactionPage<>(items, new SearchCursor(last.score(), last.transaction().id()).encode());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TransactionView> getTransactionByIdAndUserId(Long transactionId, Long userId) {
+        return transactionRepository.findViewByIdAndUserId(transactionId, userId);
     }
 
+    @Transactional
     public Transaction saveTransaction(Transaction transaction) {
         validateCategoryByType(transaction);
-        return transactionRepository.save(transaction);
+        checkNotArchived(transaction.getDate());
+        transaction.setChangeSeq(userService.nextChangeSeq(transaction.getUser().getId(), 1));
+        Transaction saved = transactionRepository.save(transaction);
+        rollupService.added(saved.getUser().getId(), saved);
+        eventPublisher.publishEvent(new TransactionChangedEvent(saved.getUser().getId()));
+        return saved;
     }
 
-    public Transaction editTransaction(Transaction transaction) {
-        Optional<Transaction> existingTransaction = Optional.ofNullable(
-                transactionRepository.findByIdAndUserId(transaction.getId(), transaction.getUser().getId()));
+    /**
+     * Everything the user wrote after {@code since}, at most {@code limit} rows.
+     */
+    @Transactional(readOnly = true)
+    public TransactionChanges getChangesSince(Long userId, long since, int limit) {
+        // Read the mark first. Writes are serialized per user and stamped in commit order,
+        // so every sequence up to it is committed and visible to the bounded read below.
+        long highWater = userService.getChangeSeq(userId);
+        List<Transaction> rows = transactionRepository.findChanges(userId, since, highWater, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+            highWater = rows.get(limit - 1).getChangeSeq();
+        }
 
-        if (existingTransaction.isPresent()) {
-            validateCategoryByType(transaction);
-            return transactionRepository.save(transaction);
-        } else {
-            throw new RuntimeException("Transaction not found for this user.");
+        List<TransactionView> upserted = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (Transaction row : rows) {
+            if (row.isDeleted()) {
+                deleted.add(row.getId());
+            } else {
+                upserted.add(TransactionView.of(row));
+            }
         }
+        return new TransactionChanges(upserted, deleted, Math.max(highWater, since), hasMore);
     }
 
+    /**
+     * PUT ({@code partial == false}) or PATCH in one UPDATE statement. The row is only
+     * read again when nothing matched, to tell a missing row from a stale version.
+     */
+    @Transactional
+    public Transaction updateTransaction(Long userId, Long transactionId, TransactionPatch changes, boolean partial) {
+        if (!partial && changes.amount() == null) {
+            throw new IllegalArgumentException("Amount is required");
+        }
+
+        Optional<UpdatedTransaction> result = transactionRepository.updateOwned(userId, transactionId, changes, partial);
+        if (result.isEmpty()) {
+            if (changes.version() != null && transactionRepository.existsByIdAndUserId(transactionId, userId)) {
+                throw new OptimisticLockingFailureException(
+                        "Transaction " + transactionId + " was changed since version " + changes.version());
+            }
+            throw new TransactionNotFoundException(transactionId);
+        }
+
+        // Checked on the merged row (a PATCH may change only one of the two); throwing rolls the update back
+        Transaction updated = result.get().current();
+        validateCategoryByType(updated);
+        checkNotArchived(updated.getDate());
+        rollupService.replaced(userId, result.get().previous(), updated);
+        eventPublisher.publishEvent(new TransactionChangedEvent(userId));
+        return updated;
+    }
+
+    @Transactional
     public void deleteTransactionByIdAndUserId(Long transactionId, Long userId) {
-        Optional<Transaction> transaction = getTransactionByIdAndUserId(transactionId, userId);
-        transaction.ifPresent(transactionRepository::delete);
+        RollupRow previous = transactionRepository.deleteOwned(userId, transactionId)
+                .orElseThrow(() -> new TransactionNotFoundException(transactionId));
+        rollupService.removed(userId, previous);
+        eventPublisher.publishEvent(new TransactionChangedEvent(userId));
     }
 
     // Validate category against transaction type
-    private void validateCategoryByType(Transaction transaction) {
-        TransactionType type = transaction.getType();
-        TransactionCategory category = transaction.getCategory();
+    void validateCategoryByType(Transaction transaction) {
+        checkCategory(transaction.getType(), transaction.getCategory());
+    }
 
+    /**
+     * Rejects dates in years past the archive horizon. Those years are (or are about to be)
+     * in {@code transactions_archive}, and a row dated there would land in the default
+     * partition of the hot table instead (see {@link PartitionMaintenanceJob}).
+     */
+    void checkNotArchived(LocalDate date) {
+        if (archiveEnabled && date != null && date.getYear() < LocalDate.now().getYear() - archiveHorizonYears) {
+            throw new IllegalArgumentException("Transactions dated before "
+                    + (LocalDate.now().getYear() - archiveHorizonYears) + " are archived and read-only");
+        }
+    }
+
+    static void checkCategory(TransactionType type, TransactionCategory category) {
+        if (type == null || category == null) {
+            throw new IllegalArgumentException("Type and category are required");
+        }
         if (type == TransactionType.EXPENSE && !EXPENSE_CATEGORIES.contains(category)) {
             throw new IllegalArgumentException("Invalid category for EXPENSE: " + category);
         } else if (type == TransactionType.INCOME && !INCOME_CATEGORIES.contains(category)) {
@@ -1,10 +1,17 @@
 package com.example.expense_tracker.service;
 
+import com.example.expense_tracker.dto.UserView;
 import com.example.expense_tracker.entity.User;
 import com.example.expense_tracker.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
 
@@ -13,7 +20,58 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Login lookup, on a replica when one is configured. A user who registered within
+    // the replica lag is not there yet, so a miss is looked up again on the primary
     public Optional<User> getUserByEmail(String email){
-        return userRepository.findByEmail(email);
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        Optional<User> user = readOnlyTransaction.execute(status -> userRepository.findByEmail(email));
+        return user != null && user.isPresent() ? user : userRepository.findByEmail(email);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<UserView> getUserById(Long id){
+        return userRepository.findViewById(id);
+    }
+
+    // Proxy carrying only the id, for setting foreign keys without a SELECT
+    public User getUserReference(Long id){
+        return userRepository.getReferenceById(id);
+    }
+
+    // Must run inside the write's transaction: the users row stays locked until commit
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long nextChangeSeq(Long userId, long count){
+        return userRepository.advanceChangeSeq(userId, count);
+    }
+
+    // Joins the caller's transaction, so it is read on the same connection (replica or
+    // primary) as the data it versions. Inside a read-only transaction it is read once and
+    // shared, so the ETag and the per-user caches of one read agree and cost one lookup
+    public long getChangeSeq(Long userId){
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return userRepository.findChangeSeq(userId);
+        }
+        ChangeSeqKey key = new ChangeSeqKey(userId);
+        Long changeSeq = (Long) TransactionSynchronizationManager.getResource(key);
+        if (changeSeq == null) {
+            changeSeq = userRepository.findChangeSeq(userId);
+            TransactionSynchronizationManager.bindResource(key, changeSeq);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                }
+            });
+        }
+        return changeSeq;
+    }
+
+    // Transaction resource key of the memoized change sequence
+    private record ChangeSeqKey(Long userId) {
     }
 }
@@ -0,0 +1,40 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update). Existing databases
+-- are baselined at version 0 and still run this script: they may predate any of it
+-- (no monthly_rollups, no index), so every object is created only if missing.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT NOT NULL PRIMARY KEY,
+    email    VARCHAR(255) UNIQUE,
+    password VARCHAR(255),
+    username VARCHAR(255) UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id       BIGINT NOT NULL PRIMARY KEY,
+    amount   FLOAT(53) NOT NULL,
+    category VARCHAR(255) CHECK (category IN ('FOOD', 'GROCERIES', 'RENT', 'UTILITIES', 'TRAVEL', 'HEALTH',
+        'ENTERTAINMENT', 'EDUCATION', 'SUBSCRIPTIONS', 'OTHER_EXPENSE', 'SALARY', 'FREELANCE', 'BUSINESS',
+        'INVESTMENT', 'GIFTS', 'OTHER_INCOME')),
+    date     DATE,
+    note     VARCHAR(255),
+    title    VARCHAR(255),
+    type     VARCHAR(255) CHECK (type IN ('INCOME', 'EXPENSE')),
+    users_id BIGINT REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date_id ON transactions (users_id, date, id);
+
+CREATE TABLE IF NOT EXISTS monthly_rollups (
+    users_id    BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    type        VARCHAR(255) NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    category    VARCHAR(255) NOT NULL CHECK (category IN ('FOOD', 'GROCERIES', 'RENT', 'UTILITIES', 'TRAVEL',
+        'HEALTH', 'ENTERTAINMENT', 'EDUCATION', 'SUBSCRIPTIONS', 'OTHER_EXPENSE', 'SALARY', 'FREELANCE',
+        'BUSINESS', 'INVESTMENT', 'GIFTS', 'OTHER_INCOME')),
+    total       FLOAT(53) NOT NULL,
+    txn_count   BIGINT NOT NULL,
+    PRIMARY KEY (users_id, month_start, type, category)
+);
@@ -0,0 +1,20 @@
+-- Amounts move from binary floating point to exact cents (currency scale 2).
+
+ALTER TABLE transactions ADD COLUMN amount_minor BIGINT;
+UPDATE transactions SET amount_minor = ROUND(CAST(amount AS NUMERIC) * 100);
+ALTER TABLE transactions ALTER COLUMN amount_minor SET NOT NULL;
+ALTER TABLE transactions DROP COLUMN amount;
+
+-- Rollup totals are recomputed from the converted rows rather than rounded, so
+-- they equal the exact sum of their transactions
+ALTER TABLE monthly_rollups DROP COLUMN total;
+ALTER TABLE monthly_rollups ADD COLUMN total_minor BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE monthly_rollups ALTER COLUMN total_minor DROP DEFAULT;
+
+DELETE FROM monthly_rollups;
+INSERT INTO monthly_rollups (users_id, month_start, type, category, total_minor, txn_count)
+SELECT users_id, COALESCE(CAST(date_trunc('month', date) AS DATE), DATE '1970-01-01'),
+       type, category, SUM(amount_minor), COUNT(*)
+FROM transactions
+WHERE users_id IS NOT NULL AND type IS NOT NULL AND category IS NOT NULL
+GROUP BY 1, 2, 3, 4;
@@ -0,0 +1,2 @@
+-- Optimistic locking: every in-place update bumps the version
+ALTER TABLE transactions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- Delta sync: a per-user change sequence stamped on every write, and tombstones for deletes
+
+ALTER TABLE users ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE transactions ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE transactions ADD COLUMN deleted BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Existing rows get sequence numbers 1..n per user, so a first sync from 0 returns them
+UPDATE transactions t SET change_seq = numbered.seq
+FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY users_id ORDER BY id) AS seq FROM transactions) numbered
+WHERE t.id = numbered.id;
+
+UPDATE users u SET change_seq = COALESCE((SELECT MAX(change_seq) FROM transactions WHERE users_id = u.id), 0);
+
+CREATE INDEX idx_transactions_user_change_seq ON transactions (users_id, change_seq);
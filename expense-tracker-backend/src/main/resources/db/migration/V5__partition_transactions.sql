@@ -0,0 +1,74 @@
+-- transactions becomes range-partitioned on date, one partition per calendar year.
+-- Date-bounded queries (list pages, trend, export, rollup rebuilds) are pruned to the
+-- years they cover, and indexes and vacuum work per year instead of on one heap.
+--
+-- Partitions are yearly rather than monthly: lookups by id alone (get, update, delete)
+-- cannot be pruned and probe every partition's id index, so fewer partitions keep them cheap.
+-- Undated rows, and rows for years that have no partition yet, land in the default
+-- partition; PartitionMaintenanceJob creates upcoming years ahead of time and moves such
+-- rows into their own year.
+--
+-- A partitioned table cannot have a primary key without the partition key, and date is
+-- nullable, so id uniqueness rests on transactions_seq and lookups use a plain index.
+
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+
+CREATE TABLE transactions (
+    id           BIGINT NOT NULL,
+    title        VARCHAR(255),
+    amount_minor BIGINT NOT NULL,
+    type         VARCHAR(255) CHECK (type IN ('INCOME', 'EXPENSE')),
+    category     VARCHAR(255) CHECK (category IN ('FOOD', 'GROCERIES', 'RENT', 'UTILITIES', 'TRAVEL', 'HEALTH',
+        'ENTERTAINMENT', 'EDUCATION', 'SUBSCRIPTIONS', 'OTHER_EXPENSE', 'SALARY', 'FREELANCE', 'BUSINESS',
+        'INVESTMENT', 'GIFTS', 'OTHER_INCOME')),
+    date         DATE,
+    note         VARCHAR(255),
+    users_id     BIGINT REFERENCES users (id),
+    version      BIGINT NOT NULL DEFAULT 0,
+    change_seq   BIGINT NOT NULL DEFAULT 0,
+    deleted      BOOLEAN NOT NULL DEFAULT FALSE
+) PARTITION BY RANGE (date);
+
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+-- A partition for every year with data, plus this year and the next
+DO $$
+DECLARE
+    y INT;
+BEGIN
+    FOR y IN
+        SELECT CAST(EXTRACT(YEAR FROM date) AS INT) FROM transactions_unpartitioned WHERE date IS NOT NULL
+        UNION SELECT CAST(EXTRACT(YEAR FROM CURRENT_DATE) AS INT)
+        UNION SELECT CAST(EXTRACT(YEAR FROM CURRENT_DATE) AS INT) + 1
+    LOOP
+        IF y > 0 THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                           'transactions_' || y, make_date(y, 1, 1), make_date(y + 1, 1, 1));
+        END IF;
+    END LOOP;
+END $$;
+
+INSERT INTO transactions (id, title, amount_minor, type, category, date, note, users_id, version, change_seq, deleted)
+SELECT id, title, amount_minor, type, category, date, note, users_id, version, change_seq, deleted
+FROM transactions_unpartitioned;
+
+DROP TABLE transactions_unpartitioned;
+
+-- Built once after the load; created on the parent, so every partition gets them
+CREATE INDEX idx_transactions_user_date_id ON transactions (users_id, date, id);
+CREATE INDEX idx_transactions_user_change_seq ON transactions (users_id, change_seq);
+CREATE INDEX idx_transactions_id ON transactions (id);
+
+-- Cold history: year partitions past the archive horizon are detached from transactions
+-- and attached here. They keep only the (users_id, date, id) index and are read-only.
+CREATE TABLE transactions_archive (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (date);
+
+CREATE INDEX idx_transactions_archive_user_date_id ON transactions_archive (users_id, date, id);
+
+-- Hot and archived rows together, for the export and for rebuilding rollups. Predicates on
+-- users_id and date are pushed into both branches and pruned there.
+CREATE VIEW transactions_all AS
+SELECT * FROM transactions
+UNION ALL
+SELECT * FROM transactions_archive;
@@ -0,0 +1,16 @@
+-- Search over title and note: a lower-cased generated column with a trigram GIN index.
+-- btree_gin lets users_id lead the same GIN index, so a search reads only the user's
+-- postings; gin_trgm_ops serves both substring (LIKE) and fuzzy (<%) matching.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+ALTER TABLE transactions
+    ADD COLUMN search_text TEXT GENERATED ALWAYS AS (lower(coalesce(title, '') || ' ' || coalesce(note, ''))) STORED;
+
+-- Archived partitions must keep matching the hot table's columns to be attached there.
+-- Search only covers the hot table, so the archive has no index on it.
+ALTER TABLE transactions_archive
+    ADD COLUMN search_text TEXT GENERATED ALWAYS AS (lower(coalesce(title, '') || ' ' || coalesce(note, ''))) STORED;
+
+CREATE INDEX idx_transactions_user_search ON transactions USING gin (users_id, search_text gin_trgm_ops);
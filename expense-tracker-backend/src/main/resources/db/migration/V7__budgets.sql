@@ -0,0 +1,8 @@
+-- Monthly spending limit per expense category; applies to every month until changed
+CREATE TABLE budgets (
+    users_id    BIGINT NOT NULL REFERENCES users (id),
+    category    VARCHAR(255) NOT NULL CHECK (category IN ('FOOD', 'GROCERIES', 'RENT', 'UTILITIES', 'TRAVEL',
+        'HEALTH', 'ENTERTAINMENT', 'EDUCATION', 'SUBSCRIPTIONS', 'OTHER_EXPENSE')),
+    limit_minor BIGINT NOT NULL CHECK (limit_minor > 0),
+    PRIMARY KEY (users_id, category)
+);
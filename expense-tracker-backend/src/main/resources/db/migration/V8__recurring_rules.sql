@@ -0,0 +1,32 @@
+-- Recurring transactions: one row per rule, expanded into occurrences at query time.
+-- An occurrence only becomes a transactions row when it is confirmed or edited.
+
+CREATE SEQUENCE recurring_rules_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE recurring_rules (
+    id           BIGINT NOT NULL PRIMARY KEY,
+    users_id     BIGINT NOT NULL REFERENCES users (id),
+    title        VARCHAR(255),
+    amount_minor BIGINT NOT NULL,
+    type         VARCHAR(255) NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    category     VARCHAR(255) NOT NULL CHECK (category IN ('FOOD', 'GROCERIES', 'RENT', 'UTILITIES', 'TRAVEL',
+        'HEALTH', 'ENTERTAINMENT', 'EDUCATION', 'SUBSCRIPTIONS', 'OTHER_EXPENSE', 'SALARY', 'FREELANCE',
+        'BUSINESS', 'INVESTMENT', 'GIFTS', 'OTHER_INCOME')),
+    note         VARCHAR(255),
+    frequency    VARCHAR(255) NOT NULL CHECK (frequency IN ('DAILY', 'WEEKLY', 'MONTHLY', 'YEARLY')),
+    repeat_every INTEGER NOT NULL DEFAULT 1 CHECK (repeat_every > 0),
+    start_date   DATE NOT NULL,
+    end_date     DATE CHECK (end_date >= start_date),
+    version      BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX idx_recurring_rules_user ON recurring_rules (users_id);
+
+-- Occurrences no longer generated from the rule: skipped (transaction_id NULL) or
+-- materialized as that transaction. Kept when the transaction is deleted later.
+CREATE TABLE recurring_exceptions (
+    rule_id         BIGINT NOT NULL REFERENCES recurring_rules (id) ON DELETE CASCADE,
+    occurrence_date DATE NOT NULL,
+    transaction_id  BIGINT,
+    PRIMARY KEY (rule_id, occurrence_date)
+);
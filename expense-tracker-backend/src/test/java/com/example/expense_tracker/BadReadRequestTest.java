@@ -0,0 +1,78 @@
+package com.example.expense_tracker;
+
+import com.example.expense_tracker.entity.User;
+import com.example.expense_tracker.repository.UserRepository;
+import com.example.expense_tracker.security.JwtUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Invalid parameters of the conditional reads are rejected inside their read-only
+ * transaction; they must still answer 400, not fail the commit with a 500.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BadReadRequestTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String token;
+
+    @BeforeAll
+    void createUser() {
+        User user = userRepository.save(User.builder()
+                .username("bad-reader")
+                .email("bad-reader@example.com")
+                .password("not-a-hash")
+                .build());
+        token = jwtUtil.generateToken(user.getId(), user.getEmail());
+    }
+
+    @Test
+    void malformedListingCursorIsABadRequest() throws Exception {
+        mockMvc.perform(authorized(get("/api/transactions").param("cursor", "not a cursor")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void malformedSearchCursorIsABadRequest() throws Exception {
+        mockMvc.perform(authorized(get("/api/transactions/search").param("q", "coffee").param("cursor", "not a cursor")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchShorterThanThreeCharactersIsABadRequest() throws Exception {
+        mockMvc.perform(authorized(get("/api/transactions/search").param("q", "ab")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void trendEndingBeforeItStartsIsABadRequest() throws Exception {
+        mockMvc.perform(authorized(get("/api/report/trend").param("from", "2025-03-01").param("to", "2025-02-01")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void trendWithTooManyBucketsIsABadRequest() throws Exception {
+        mockMvc.perform(authorized(get("/api/report/trend").param("from", "2023-01-01").param("to", "2025-01-01")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+}
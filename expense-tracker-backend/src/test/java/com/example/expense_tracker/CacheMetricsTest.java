@@ -0,0 +1,55 @@
+package com.example.expense_tracker;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The per-user caches are observed through the meter registry (and so the Prometheus
+ * endpoint on the management port), not through the application API.
+ */
+class CacheMetricsTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void everyCacheIsBoundToTheMeterRegistry() {
+        assertTrue(cacheManager.getCacheNames().containsAll(
+                List.of("reportSummary", "reportByCategory", "recurringRules")));
+        for (String name : cacheManager.getCacheNames()) {
+            assertNotNull(misses(name), "cache.gets of " + name);
+            assertNotNull(meterRegistry.find("cache.evictions").tag("cache", name).functionCounter(),
+                    "cache.evictions of " + name);
+            assertNotNull(meterRegistry.find("cache.size").tag("cache", name).gauge(), "cache.size of " + name);
+        }
+    }
+
+    @Test
+    void missesAreCounted() {
+        FunctionCounter misses = misses("recurringRules");
+        double before = misses.count();
+
+        Cache cache = Objects.requireNonNull(cacheManager.getCache("recurringRules"));
+        cache.get(-1L);
+
+        assertEquals(before + 1, misses.count());
+    }
+
+    private FunctionCounter misses(String cache) {
+        return meterRegistry.find("cache.gets").tags("cache", cache, "result", "miss").functionCounter();
+    }
+}
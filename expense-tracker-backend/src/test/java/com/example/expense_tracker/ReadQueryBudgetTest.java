@@ -0,0 +1,207 @@
+package com.example.expense_tracker;
+
+import com.example.expense_tracker.dto.RecurringRuleRequest;
+import com.example.expense_tracker.dto.RecurringRuleView;
+import com.example.expense_tracker.entity.RecurrenceFrequency;
+import com.example.expense_tracker.entity.Transaction;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+import com.example.expense_tracker.entity.User;
+import com.example.expense_tracker.repository.UserRepository;
+import com.example.expense_tracker.security.JwtUtil;
+import com.example.expense_tracker.service.BudgetService;
+import com.example.expense_tracker.service.RecurringService;
+import com.example.expense_tracker.service.TransactionService;
+import com.example.expense_tracker.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Every read endpoint against a user with a year of transactions, recurring rules with
+ * exceptions and budgets: enough rows that a lazy load or an N+1 query shows up in
+ * Hibernate's statistics. Each request runs with cold caches, so the statement count is
+ * that of a cache miss.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadQueryBudgetTest extends EmbeddedPostgresTest {
+
+    // The dashboard runs its four parts as separate reads
+    private static final int DASHBOARD_PARTS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private RecurringService recurringService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Value("${app.hibernate.read-statement-budget:3}")
+    private long statementBudget;
+
+    private Statistics statistics;
+    private String token;
+    private Long transactionId;
+
+    @BeforeAll
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        LocalDate today = LocalDate.now();
+
+        // A second user, so a query missing its user filter also reads someone else's rows
+        for (String name : List.of("reader", "neighbour")) {
+            User user = userRepository.save(User.builder()
+                    .username(name)
+                    .email(name + "@example.com")
+                    .password("not-a-hash")
+                    .build());
+            Long userId = user.getId();
+
+            for (int month = 0; month < 12; month++) {
+                LocalDate date = today.minusMonths(month).withDayOfMonth(1);
+                save(userId, "Coffee " + month, "4.50", TransactionType.EXPENSE, TransactionCategory.FOOD, date);
+                save(userId, "Groceries " + month, "62.10", TransactionType.EXPENSE, TransactionCategory.GROCERIES, date);
+                save(userId, "Power " + month, "48.00", TransactionType.EXPENSE, TransactionCategory.UTILITIES, date);
+                save(userId, "Salary " + month, "3100.00", TransactionType.INCOME, TransactionCategory.SALARY, date);
+            }
+            save(userId, "Undated", "1.00", TransactionType.EXPENSE, TransactionCategory.OTHER_EXPENSE, null);
+
+            RecurringRuleView rent = recurringService.createRule(userId, new RecurringRuleRequest("Rent",
+                    new BigDecimal("900.00"), TransactionType.EXPENSE, TransactionCategory.RENT, null,
+                    RecurrenceFrequency.MONTHLY, 1, LocalDate.of(today.getYear() - 1, 1, 31), null, null));
+            recurringService.skip(userId, rent.id(), rent.occurrence(2));
+            recurringService.createRule(userId, new RecurringRuleRequest("Gym",
+                    new BigDecimal("15.00"), TransactionType.EXPENSE, TransactionCategory.HEALTH, null,
+                    RecurrenceFrequency.WEEKLY, 2, today.minusWeeks(20), null, null));
+
+            budgetService.setBudget(userId, TransactionCategory.FOOD, 20_000L);
+            budgetService.setBudget(userId, TransactionCategory.RENT, 100_000L);
+
+            if (token == null) {
+                token = jwtUtil.generateToken(userId, user.getEmail());
+            }
+        }
+    }
+
+    @Test
+    void readEndpointsStayWithinTheStatementBudgetAndLoadNoEntities() throws Exception {
+        LocalDate today = LocalDate.now();
+        List<String> uris = new ArrayList<>(List.of(
+                "/api/transactions",
+                "/api/transactions?limit=5",
+                "/api/transactions?type=EXPENSE&category=FOOD",
+                "/api/transactions?from=" + today.minusMonths(6) + "&to=" + today,
+                "/api/transactions/search?q=coffee",
+                "/api/transactions/" + transactionId,
+                "/api/transactions/changes?since=0",
+                "/api/transactions/export",
+                "/api/transactions/export?format=ndjson",
+                "/api/report/summary",
+                "/api/report/by-category",
+                "/api/report/trend",
+                "/api/report/trend?bucket=month&groupBy=category&from=" + today.minusYears(1),
+                "/api/budgets",
+                "/api/recurring",
+                "/api/users/me",
+                "/health"));
+        // The second page starts behind a cursor, possibly on a virtual row
+        String firstPage = read("/api/transactions?limit=5").getResponse().getContentAsString();
+        uris.add("/api/transactions?limit=5&cursor=" + objectMapper.readTree(firstPage).get("nextCursor").asText());
+
+        for (String uri : uris) {
+            assertWithinBudget(uri, statementBudget);
+        }
+        assertWithinBudget("/api/dashboard", DASHBOARD_PARTS * statementBudget);
+    }
+
+    @Test
+    void eventStreamSubscriptionRunsNoQueries() throws Exception {
+        resetCachesAndStatistics();
+        MvcResult result = mockMvc.perform(get("/api/events").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andReturn();
+
+        assertTrue(result.getRequest().isAsyncStarted(), "/api/events did not open a stream");
+        assertEquals(0, statistics.getPrepareStatementCount(), "statements of /api/events");
+    }
+
+    private void assertWithinBudget(String uri, long budget) throws Exception {
+        resetCachesAndStatistics();
+        MvcResult result = read(uri);
+
+        assertEquals(200, result.getResponse().getStatus(), uri);
+        assertEquals(0, statistics.getEntityLoadCount(), "entities loaded by " + uri);
+        assertTrue(statistics.getPrepareStatementCount() <= budget,
+                uri + " ran " + statistics.getPrepareStatementCount() + " statements, budget " + budget);
+    }
+
+    // Streamed bodies are written on an async thread; the result is complete once dispatched
+    private MvcResult read(String uri) throws Exception {
+        MvcResult result = mockMvc.perform(get(uri).header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)).andReturn() : result;
+    }
+
+    private void resetCachesAndStatistics() {
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+        statistics.clear();
+    }
+
+    private void save(Long userId, String title, String amount, TransactionType type,
+                      TransactionCategory category, LocalDate date) {
+        Transaction transaction = Transaction.builder()
+                .title(title)
+                .type(type)
+                .category(category)
+                .date(date)
+                .user(userService.getUserReference(userId))
+                .build();
+        transaction.setAmount(new BigDecimal(amount));
+        Transaction saved = transactionService.saveTransaction(transaction);
+        if (transactionId == null) {
+            transactionId = saved.getId();
+        }
+    }
+}
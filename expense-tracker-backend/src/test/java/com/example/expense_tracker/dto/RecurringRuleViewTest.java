@@ -0,0 +1,107 @@
+package com.example.expense_tracker.dto;
+
+import com.example.expense_tracker.entity.RecurrenceFrequency;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecurringRuleViewTest {
+
+    private static final LocalDate FAR_AHEAD = LocalDate.of(2100, 1, 1);
+
+    @Test
+    void monthlyFromThe31stFallsOnTheLastDayOfShorterMonths() {
+        RecurringRuleView rule = rule(RecurrenceFrequency.MONTHLY, 1, LocalDate.of(2025, 1, 31));
+
+        assertEquals(LocalDate.of(2025, 2, 28), rule.occurrence(1));
+        assertEquals(LocalDate.of(2025, 3, 31), rule.occurrence(2));
+        assertEquals(LocalDate.of(2025, 4, 30), rule.occurrence(3));
+        assertTrue(rule.isScheduledOn(LocalDate.of(2025, 2, 28)));
+        assertFalse(rule.isScheduledOn(LocalDate.of(2025, 3, 28)));
+        // March 31 is later in the month than March 30, so the last one before it is February's
+        assertEquals(1, rule.lastIndexOnOrBefore(LocalDate.of(2025, 3, 30)));
+        assertEquals(0, rule.count(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 27), FAR_AHEAD));
+        assertEquals(1, rule.count(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28), FAR_AHEAD));
+        assertEquals(6, rule.count(null, null, LocalDate.of(2025, 6, 30)));
+    }
+
+    @Test
+    void yearlyFromALeapDayFallsOnFebruary28thInOtherYears() {
+        RecurringRuleView rule = rule(RecurrenceFrequency.YEARLY, 1, LocalDate.of(2024, 2, 29));
+
+        assertEquals(LocalDate.of(2025, 2, 28), rule.occurrence(1));
+        assertEquals(LocalDate.of(2028, 2, 29), rule.occurrence(4));
+        assertTrue(rule.isScheduledOn(LocalDate.of(2025, 2, 28)));
+        assertFalse(rule.isScheduledOn(LocalDate.of(2025, 3, 1)));
+        assertEquals(0, rule.count(LocalDate.of(2025, 3, 1), LocalDate.of(2026, 2, 27), FAR_AHEAD));
+        assertEquals(5, rule.count(null, null, LocalDate.of(2028, 3, 1)));
+    }
+
+    @Test
+    void everyOtherMonthStepsBackWhenTheCandidateIsLaterInTheMonth() {
+        RecurringRuleView rule = rule(RecurrenceFrequency.MONTHLY, 2, LocalDate.of(2025, 1, 31));
+
+        assertEquals(LocalDate.of(2025, 3, 31), rule.occurrence(1));
+        assertEquals(LocalDate.of(2025, 5, 31), rule.occurrence(2));
+        assertEquals(0, rule.lastIndexOnOrBefore(LocalDate.of(2025, 3, 30)));
+        assertEquals(1, rule.lastIndexOnOrBefore(LocalDate.of(2025, 3, 31)));
+        assertEquals(1, rule.lastIndexOnOrBefore(LocalDate.of(2025, 5, 30)));
+        assertEquals(0, rule.count(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 30), FAR_AHEAD));
+        assertEquals(1, rule.count(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 31), FAR_AHEAD));
+    }
+
+    @Test
+    void everyThirdMonthFromThe31stCountsTheClampedOccurrences() {
+        RecurringRuleView rule = rule(RecurrenceFrequency.MONTHLY, 3, LocalDate.of(2025, 1, 31));
+
+        assertEquals(LocalDate.of(2025, 4, 30), rule.occurrence(1));
+        assertEquals(LocalDate.of(2025, 7, 31), rule.occurrence(2));
+        assertEquals(0, rule.lastIndexOnOrBefore(LocalDate.of(2025, 4, 29)));
+        assertEquals(3, rule.count(null, LocalDate.of(2025, 7, 31), FAR_AHEAD));
+    }
+
+    @Test
+    void countStopsAtTodayAndTheEndDate() {
+        RecurringRuleView rule = new RecurringRuleView(1L, "Rule", 1_000, TransactionType.EXPENSE,
+                TransactionCategory.RENT, null, RecurrenceFrequency.WEEKLY, 1, LocalDate.of(2025, 1, 6),
+                LocalDate.of(2025, 2, 3), 0L, new TreeSet<LocalDate>());
+
+        assertEquals(3, rule.count(null, null, LocalDate.of(2025, 1, 20)));
+        assertEquals(5, rule.count(null, null, FAR_AHEAD));
+        assertFalse(rule.occursOn(LocalDate.of(2025, 1, 27), LocalDate.of(2025, 1, 26)));
+    }
+
+    @Test
+    void skippedOccurrencesAreNotCounted() {
+        RecurringRuleView rule = rule(RecurrenceFrequency.MONTHLY, 1, LocalDate.of(2025, 1, 15),
+                LocalDate.of(2025, 3, 15));
+
+        assertEquals(3, rule.count(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 4, 30), FAR_AHEAD));
+        assertFalse(rule.occursOn(LocalDate.of(2025, 3, 15), FAR_AHEAD));
+    }
+
+    @Test
+    void exceptionsLeftBehindByAScheduleChangeAreNotSubtracted() {
+        // Skipped on March 15th, then moved to the 20th: the exception no longer matches a date
+        RecurringRuleView rule = rule(RecurrenceFrequency.MONTHLY, 1, LocalDate.of(2025, 1, 20),
+                LocalDate.of(2025, 3, 15));
+
+        assertFalse(rule.isScheduledOn(LocalDate.of(2025, 3, 15)));
+        assertTrue(rule.occursOn(LocalDate.of(2025, 3, 20), FAR_AHEAD));
+        assertEquals(4, rule.count(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 4, 30), FAR_AHEAD));
+    }
+
+    private static RecurringRuleView rule(RecurrenceFrequency frequency, int every, LocalDate start,
+                                          LocalDate... exceptions) {
+        return new RecurringRuleView(1L, "Rule", 1_000, TransactionType.EXPENSE, TransactionCategory.RENT, null,
+                frequency, every, start, null, 0L, new TreeSet<>(List.of(exceptions)));
+    }
+}
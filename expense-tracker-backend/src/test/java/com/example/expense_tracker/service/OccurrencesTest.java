@@ -0,0 +1,81 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.dto.RecurringRuleView;
+import com.example.expense_tracker.dto.TransactionCursor;
+import com.example.expense_tracker.dto.TransactionFilter;
+import com.example.expense_tracker.dto.TransactionView;
+import com.example.expense_tracker.entity.RecurrenceFrequency;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OccurrencesTest {
+
+    private static final TransactionFilter NO_FILTER = new TransactionFilter(null, null, null, null);
+    private static final LocalDate TODAY = LocalDate.of(2025, 4, 15);
+
+    // The listing's (date DESC, id DESC) order
+    private static final Comparator<TransactionView> LISTING_ORDER = Comparator
+            .comparing(TransactionView::date, Comparator.reverseOrder())
+            .thenComparing(Comparator.comparingLong(TransactionView::sortId).reversed());
+
+    // Both due on the 10th of January to April; rule 7 ranks before rule 9 on each date
+    private static final List<RecurringRuleView> RULES = List.of(
+            rule(7L, LocalDate.of(2025, 1, 10)),
+            rule(9L, LocalDate.of(2025, 1, 10)));
+
+    @Test
+    void cursorOnAVirtualRowKeepsTheRowsRankedAfterItOnTheSameDate() {
+        TransactionCursor after = new TransactionCursor(LocalDate.of(2025, 3, 10), -7L);
+
+        List<TransactionView> rows = Occurrences.forPage(RULES, NO_FILTER, after, null, 10, TODAY);
+
+        assertEquals(List.of(
+                "7@2025-02-10", "7@2025-01-10",
+                "9@2025-03-10", "9@2025-02-10", "9@2025-01-10"), describe(rows));
+    }
+
+    @Test
+    void keysetPagesOverVirtualRowsSkipAndRepeatNothing() {
+        List<TransactionView> all = new ArrayList<>(Occurrences.forPage(RULES, NO_FILTER, null, null, 100, TODAY));
+        all.sort(LISTING_ORDER);
+
+        // Pages of three end between the two rules of a date as well as on a date boundary
+        int pageSize = 3;
+        List<TransactionView> paged = new ArrayList<>();
+        TransactionCursor after = null;
+        while (true) {
+            List<TransactionView> rows = new ArrayList<>(
+                    Occurrences.forPage(RULES, NO_FILTER, after, null, pageSize + 1, TODAY));
+            rows.sort(LISTING_ORDER);
+            List<TransactionView> page = rows.subList(0, Math.min(pageSize, rows.size()));
+            paged.addAll(page);
+            if (rows.size() <= pageSize) {
+                break;
+            }
+            TransactionView last = page.get(pageSize - 1);
+            // Through the encoded form, as a client would send it back
+            after = TransactionCursor.decode(new TransactionCursor(last.date(), last.sortId()).encode());
+        }
+
+        assertEquals(8, all.size());
+        assertEquals(describe(all), describe(paged));
+    }
+
+    private static List<String> describe(List<TransactionView> rows) {
+        return rows.stream().map(row -> row.ruleId() + "@" + row.date()).toList();
+    }
+
+    private static RecurringRuleView rule(Long id, LocalDate start) {
+        return new RecurringRuleView(id, "Rule " + id, 1_000, TransactionType.EXPENSE, TransactionCategory.RENT,
+                null, RecurrenceFrequency.MONTHLY, 1, start, null, 0L, new TreeSet<LocalDate>());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.expense_tracker.benchmark;
+
+import com.example.expense_tracker.dto.RollupRow;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+import com.example.expense_tracker.service.BudgetTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extra cost of budget tracking on one write: {@link BudgetTracker#track} inside a
+ * (simulated) transaction plus its after-commit counter update and threshold check,
+ * with 100k tracked budgets. {@code untracked} is a write into a category without a budget.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BudgetTrackerBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private BudgetTracker tracker;
+    private RollupRow tracked;
+    private RollupRow untracked;
+    private long userId;
+
+    @Setup
+    public void setUp() {
+        tracker = new BudgetTracker();
+        ApplicationEventPublisher publisher = event -> { };
+        ReflectionTestUtils.setField(tracker, "eventPublisher", publisher);
+        ReflectionTestUtils.setField(tracker, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(tracker, "registerMetrics");
+
+        LocalDate month = RollupRow.monthOf(LocalDate.now());
+        TransactionCategory[] budgeted = {
+                TransactionCategory.FOOD, TransactionCategory.GROCERIES, TransactionCategory.RENT,
+                TransactionCategory.UTILITIES, TransactionCategory.TRAVEL, TransactionCategory.HEALTH,
+                TransactionCategory.ENTERTAINMENT, TransactionCategory.EDUCATION, TransactionCategory.SUBSCRIPTIONS,
+                TransactionCategory.OTHER_EXPENSE};
+        for (long user = 1; user <= USERS; user++) {
+            for (TransactionCategory category : budgeted) {
+                // Limits far above what the run adds, so the steady state is the no-crossing path
+                tracker.seed(user, month, category, Long.MAX_VALUE / 200, 0);
+            }
+        }
+        tracked = new RollupRow(month, TransactionType.EXPENSE, TransactionCategory.FOOD, 1_250, 1);
+        untracked = new RollupRow(month, TransactionType.INCOME, TransactionCategory.SALARY, 1_250, 1);
+    }
+
+    @Benchmark
+    public void trackedWrite() {
+        commit(tracked);
+    }
+
+    @Benchmark
+    public void untrackedWrite() {
+        commit(untracked);
+    }
+
+    private void commit(RollupRow delta) {
+        userId = userId % USERS + 1;
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tracker.track(userId, delta);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
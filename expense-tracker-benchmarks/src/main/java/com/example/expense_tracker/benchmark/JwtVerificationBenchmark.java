@@ -0,0 +1,97 @@
+package com.example.expense_tracker.benchmark;
+
+import com.example.expense_tracker.security.JwtUtil;
+import com.example.expense_tracker.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token.
+ *
+ * <ul>
+ *     <li>{@code generateToken}: signing a fresh token at login</li>
+ *     <li>{@code legacyTwoParses}: frozen baseline, not production code. It replays the
+ *     JWTFilter path as it was before tokens were verified once per request, building a
+ *     parser and verifying the HS512 signature twice (expiry check, then subject), and is
+ *     never updated, so runs from different releases stay comparable</li>
+ *     <li>{@code verifyUncached}: {@link JwtUtil#verify} on tokens that are not in the
+ *     verified-token cache (one parse, one HMAC)</li>
+ *     <li>{@code verifyCached}: {@link JwtUtil#verify} on a repeat token (digest + map lookup)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    // Larger than JwtUtil's verified-token cache, so cycling through them keeps missing
+    private static final int DISTINCT_TOKENS = 50_000;
+
+    private JwtUtil jwtUtil;
+    private String repeatToken;
+    private String[] distinctTokens;
+    private int next;
+
+    private SecretKey legacyKey;
+    private String legacyToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        repeatToken = jwtUtil.generateToken(1L, "bench@example.com");
+        distinctTokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            distinctTokens[i] = jwtUtil.generateToken((long) i, "user" + i + "@example.com");
+        }
+
+        legacyKey = Jwts.SIG.HS512.key().build();
+        legacyToken = Jwts.builder()
+                .subject("bench@example.com")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(legacyKey, Jwts.SIG.HS512)
+                .compact();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(1L, "bench@example.com");
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return jwtUtil.extractEmail(repeatToken);
+    }
+
+    // Frozen baseline: see the class comment; do not change along with JwtUtil
+    @Benchmark
+    public String legacyTwoParses() {
+        Claims expiryClaims = Jwts.parser().verifyWith(legacyKey).build()
+                .parseSignedClaims(legacyToken).getPayload();
+        if (expiryClaims.getExpiration().before(new Date())) {
+            return null;
+        }
+        return Jwts.parser().verifyWith(legacyKey).build()
+                .parseSignedClaims(legacyToken).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        String token = distinctTokens[next];
+        next = (next + 1) % DISTINCT_TOKENS;
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return jwtUtil.verify(repeatToken);
+    }
+}
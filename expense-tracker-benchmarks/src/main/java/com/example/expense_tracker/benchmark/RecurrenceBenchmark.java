@@ -0,0 +1,57 @@
+package com.example.expense_tracker.benchmark;
+
+import com.example.expense_tracker.dto.RecurringRuleView;
+import com.example.expense_tracker.entity.RecurrenceFrequency;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counting the occurrences of a monthly rule that started ten years ago, as the reports
+ * do: over one month and over its whole history. {@code walkTenYears} generates every
+ * occurrence instead, as a reference for what the constant-time count avoids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecurrenceBenchmark {
+
+    private RecurringRuleView rule;
+    private LocalDate today;
+    private LocalDate monthStart;
+
+    @Setup
+    public void setUp() {
+        today = LocalDate.now();
+        monthStart = today.withDayOfMonth(1);
+        rule = new RecurringRuleView(1L, "Rent", 120_000, TransactionType.EXPENSE, TransactionCategory.RENT, null,
+                RecurrenceFrequency.MONTHLY, 1, today.minusYears(10).withDayOfMonth(1), null, 0L,
+                Collections.emptyNavigableSet());
+    }
+
+    @Benchmark
+    public long countOneMonth() {
+        return rule.count(monthStart, today, today);
+    }
+
+    @Benchmark
+    public long countTenYears() {
+        return rule.count(null, null, today);
+    }
+
+    @Benchmark
+    public long walkTenYears() {
+        long count = 0;
+        for (long i = 0; !rule.occurrence(i).isAfter(today); i++) {
+            count++;
+        }
+        return count;
+    }
+}
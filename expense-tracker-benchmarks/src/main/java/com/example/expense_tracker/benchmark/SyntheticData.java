@@ -0,0 +1,51 @@
+package com.example.expense_tracker.benchmark;
+
+import com.example.expense_tracker.entity.Transaction;
+import com.example.expense_tracker.entity.TransactionCategory;
+import com.example.expense_tracker.entity.TransactionType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic transactions: valid type/category pairs spread over five years.
+ */
+public final class SyntheticData {
+
+    private static final TransactionCategory[] EXPENSE = {
+            TransactionCategory.FOOD, TransactionCategory.GROCERIES, TransactionCategory.RENT,
+            TransactionCategory.UTILITIES, TransactionCategory.TRAVEL, TransactionCategory.HEALTH,
+            TransactionCategory.ENTERTAINMENT, TransactionCategory.EDUCATION,
+            TransactionCategory.SUBSCRIPTIONS, TransactionCategory.OTHER_EXPENSE
+    };
+
+    private static final TransactionCategory[] INCOME = {
+            TransactionCategory.SALARY, TransactionCategory.FREELANCE, TransactionCategory.BUSINESS,
+            TransactionCategory.INVESTMENT, TransactionCategory.GIFTS, TransactionCategory.OTHER_INCOME
+    };
+
+    private SyntheticData() {
+    }
+
+    public static List<Transaction> transactions(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        List<Transaction> transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean income = random.nextInt(5) == 0;
+            TransactionCategory[] categories = income ? INCOME : EXPENSE;
+            transactions.add(Transaction.builder()
+                    .id((long) i + 1)
+                    .title("Transaction " + i)
+                    .amountMinor(random.nextInt(1, 500_000))
+                    .type(income ? TransactionType.INCOME : TransactionType.EXPENSE)
+                    .category(categories[random.nextInt(categories.length)])
+                    .date(start.plusDays(random.nextInt(5 * 365)))
+                    .note(random.nextInt(3) == 0 ? "note " + i : null)
+                    .build());
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.benchmark.SyntheticData;
+import com.example.expense_tracker.dto.RollupRow;
+import com.example.expense_tracker.entity.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RollupService#foldByBucket}, the in-memory per-bucket fold of a bulk import
+ * chunk, over synthetic transaction lists of varying sizes. Declared in the service
+ * package so it calls the package-private method as production does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RollupFoldBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        transactions = SyntheticData.transactions(size);
+    }
+
+    @Benchmark
+    public Collection<RollupRow> foldByBucket() {
+        return RollupService.foldByBucket(transactions);
+    }
+}
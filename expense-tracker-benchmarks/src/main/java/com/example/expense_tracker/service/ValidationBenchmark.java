@@ -0,0 +1,44 @@
+package com.example.expense_tracker.service;
+
+import com.example.expense_tracker.benchmark.SyntheticData;
+import com.example.expense_tracker.entity.Transaction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link TransactionService#validateCategoryByType}, which runs for every
+ * created, edited and imported row. Declared in the service package so it calls the
+ * package-private method as production does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private TransactionService transactionService;
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        // validateCategoryByType touches no injected collaborators
+        transactionService = new TransactionService();
+        transactions = SyntheticData.transactions(ROWS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void validateCategoryByType(Blackhole blackhole) {
+        for (Transaction transaction : transactions) {
+            transactionService.validateCategoryByType(transaction);
+            blackhole.consume(transaction);
+        }
+    }
+}
@@ -22,19 +22,17 @@ export default function Dashboard() {
   const [addingTransaction, setAddingTransaction] = useState(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
+  const [budgetAlert, setBudgetAlert] = useState(null);
 
-  const fetchData = async () => {
-    setLoading(true);
+  const fetchData = async (quiet = false) => {
+    if (!quiet) setLoading(true);
     setError(null);
     try {
-      const [summaryRes, categoryRes, transactionsRes] = await Promise.all([
-        api.get("/report/summary"),
-        api.get("/report/by-category"),
-        api.get("/transactions"),
-      ]);
-      setSummary(summaryRes.data);
-      setCategoryTotals(categoryRes.data);
-      setTransactions(transactionsRes.data);
+      // One round trip; parts the server could not compute in time come back null
+      const { data } = await api.get("/dashboard", { params: { recent: 5 } });
+      if (data.summary) setSummary(data.summary);
+      if (data.byCategory) setCategoryTotals(data.byCategory);
+      if (data.recent) setTransactions(data.recent);
     } catch (err) {
       setError("Registration failed. Try again.");
       console.error("Failed to fetch dashboard data:", err);
@@ -47,6 +45,19 @@ export default function Dashboard() {
     fetchData();
   }, []);
 
+  // Server push instead of polling: refresh quietly when this user's data changes elsewhere
+  useEffect(() => {
+    const token = localStorage.getItem("token");
+    if (!token) return;
+    const source = new EventSource(
+      `${import.meta.env.VITE_API_BASE_URL}/events?access_token=${encodeURIComponent(token)}`
+    );
+    source.addEventListener("report-invalidated", () => fetchData(true));
+    // Sent once when a write takes a category across 80% or 100% of its monthly budget
+    source.addEventListener("budget-alert", (e) => setBudgetAlert(JSON.parse(e.data)));
+    return () => source.close();
+  }, []);
+
   const recentTransactions = [...transactions]
     .sort((a, b) => new Date(b.date) - new Date(a.date))
     .slice(0, 5);
@@ -61,7 +72,9 @@ export default function Dashboard() {
       await api.post("/transactions", form);
       setShowModal(false);
       setAddingTransaction(null);
-      fetchData();
+      // Refetch our own write directly: the event stream may be down or reconnecting.
+      // It still covers changes made in other tabs and devices.
+      fetchData(true);
     } catch (error) {
       console.error(error);
     }
@@ -104,6 +117,25 @@ export default function Dashboard() {
         <div className="text-red-500 text-center py-4">{error}</div>
       ) : (
         <div className="p-6 space-y-6 max-w-full w-full">
+          {budgetAlert && (
+            <div
+              className={`p-4 rounded-xl shadow flex justify-between items-center ${
+                budgetAlert.percent >= 100 ? "bg-red-100" : "bg-yellow-100"
+              }`}
+            >
+              <span>
+                {budgetAlert.category} budget: {budgetAlert.percent}% used
+                (₹{budgetAlert.spent} of ₹{budgetAlert.limit})
+              </span>
+              <button
+                onClick={() => setBudgetAlert(null)}
+                className="px-2 py-1 bg-gray-200 rounded hover:bg-gray-300"
+              >
+                Dismiss
+              </button>
+            </div>
+          )}
+
           {/* Summary cards */}
           <div className="grid grid-cols-1 sm:grid-cols-3 gap-4 w-full">
             <div className="bg-green-100 p-4 rounded-xl shadow w-full">
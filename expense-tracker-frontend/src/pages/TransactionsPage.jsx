@@ -24,46 +24,72 @@ export default function TransactionsPage() {
   const [error, setError] = useState(null);
   const [loading, setLoading] = useState(false);
 
+  const [nextCursor, setNextCursor] = useState(null);
+  const [searchQuery, setSearchQuery] = useState("");
+
+  // Three or more characters search title and note on the server (ranked,
+  // typo-tolerant); shorter input just filters the loaded rows.
+  useEffect(() => {
+    const q = searchTitle.trim();
+    const timer = setTimeout(() => setSearchQuery(q.length >= 3 ? q : ""), 300);
+    return () => clearTimeout(timer);
+  }, [searchTitle]);
+
+  // Type, category and date filters are applied server-side; the listing is
+  // keyset-paginated, so further pages are appended via "Load more".
+  const fetchPage = (cursor = null) => {
+    const request = searchQuery
+      ? api.get("/transactions/search", {
+          params: { q: searchQuery, cursor: cursor || undefined },
+        })
+      : api.get("/transactions", {
+          params: {
+            type: typeFilter || undefined,
+            category: categoryFilter || undefined,
+            from: startDate || undefined,
+            to: endDate || undefined,
+            cursor: cursor || undefined,
+          },
+        });
+    return request.then((res) => {
+      setTransactions((prev) =>
+        cursor ? [...prev, ...res.data.items] : res.data.items
+      );
+      setNextCursor(res.data.nextCursor);
+    });
+  };
+
   // Fetch data
   useEffect(() => {
     setLoading(true);
     setError(null);
-    api
-      .get("/transactions")
-      .then((res) => setTransactions(res.data))
+    fetchPage()
       .catch((err) => setError("Failed to load transactions"))
       .finally(() => setLoading(false));
-  }, []);
+  }, [typeFilter, categoryFilter, startDate, endDate, searchQuery]);
+
+  const handleLoadMore = () => {
+    fetchPage(nextCursor).catch((err) =>
+      setError("Failed to load transactions")
+    );
+  };
 
-  // Apply filters and search
+  // Apply search
   useEffect(() => {
     let temp = [...transactions];
 
-    if (typeFilter) temp = temp.filter((t) => t.type === typeFilter);
-    if (categoryFilter)
-      temp = temp.filter((t) => t.category === categoryFilter);
-    if (startDate)
-      temp = temp.filter((t) => new Date(t.date) >= new Date(startDate));
-    if (endDate)
-      temp = temp.filter((t) => new Date(t.date) <= new Date(endDate));
-    if (searchTitle)
+    if (searchTitle && !searchQuery)
       temp = temp.filter((t) =>
         t.title.toLowerCase().includes(searchTitle.toLowerCase())
       );
 
     setFilteredTransactions(temp);
     setCurrentPage(1);
-  }, [
-    transactions,
-    typeFilter,
-    categoryFilter,
-    startDate,
-    endDate,
-    searchTitle,
-  ]);
-
-  // Sorting filtered transactions
+  }, [transactions, searchTitle, searchQuery]);
+
+  // Sorting filtered transactions; search results keep their relevance order
   const sortedTransactions = [...filteredTransactions].sort((a, b) => {
+    if (searchQuery) return 0;
     const { key, direction } = sortConfig;
 
     if (key === "amount") {
@@ -105,14 +131,38 @@ export default function TransactionsPage() {
     setModalOpen(true);
   };
 
+  // Recurring occurrences are virtual (no id) until confirmed or edited
+  const sameRow = (a, b) =>
+    a.id ? a.id === b.id : !b.id && a.ruleId === b.ruleId && a.date === b.date;
+  const occurrenceUrl = (t) => `/recurring/${t.ruleId}/occurrences/${t.date}`;
+
+  const handleConfirm = async (occurrence) => {
+    try {
+      const res = await api.post(occurrenceUrl(occurrence));
+      setTransactions((prev) =>
+        prev.map((t) => (sameRow(t, occurrence) ? res.data : t))
+      );
+    } catch (error) {
+      setError("Error Confirming Transaction");
+      console.error(error);
+    }
+  };
+
   const handleSaveTransaction = async (form) => {
     try {
-      if (editingTransaction) {
-        // Edit transaction
-        const res = await api.put(
-          `/transactions/${editingTransaction.id}`,
-          form
+      if (editingTransaction && !editingTransaction.id) {
+        // Editing an occurrence stores it with the changes
+        const res = await api.post(occurrenceUrl(editingTransaction), form);
+        setTransactions((prev) =>
+          prev.map((t) => (sameRow(t, editingTransaction) ? res.data : t))
         );
+      } else if (editingTransaction) {
+        // Edit transaction
+        // Sending the version we loaded makes the server reject edits made elsewhere in the meantime
+        const res = await api.put(`/transactions/${editingTransaction.id}`, {
+          ...form,
+          version: editingTransaction.version,
+        });
         setTransactions((prev) =>
           prev.map((t) => (t.id === editingTransaction.id ? res.data : t))
         );
@@ -124,6 +174,9 @@ export default function TransactionsPage() {
       setModalOpen(false);
       setEditingTransaction(null);
     } catch (error) {
+      if (error.response?.status === 409) {
+        setError("This transaction was changed elsewhere. Reload and try again.");
+      }
       console.error(error);
     }
   };
@@ -133,11 +186,16 @@ export default function TransactionsPage() {
     setModalOpen(true);
   };
 
-  const handleDelete = async (id) => {
+  const handleDelete = async (transaction) => {
     if (window.confirm("Are you sure you want to delete this transaction?")) {
       try {
-        await api.delete(`/transactions/${id}`);
-        setTransactions((prev) => prev.filter((t) => t.id !== id));
+        // Deleting an occurrence skips it; the rule keeps generating the others
+        await api.delete(
+          transaction.id
+            ? `/transactions/${transaction.id}`
+            : occurrenceUrl(transaction)
+        );
+        setTransactions((prev) => prev.filter((t) => !sameRow(t, transaction)));
       } catch (error) {
         setError("Error Deleting Transaction");
         console.error(error);
@@ -210,7 +268,7 @@ export default function TransactionsPage() {
 
             <input
               type="text"
-              placeholder="Search by title..."
+              placeholder="Search title and note..."
               value={searchTitle}
               onChange={(e) => setSearchTitle(e.target.value)}
               className="border p-2 rounded flex-grow"
@@ -268,15 +326,31 @@ export default function TransactionsPage() {
                 <tbody>
                   {currentTransactions.length > 0 ? (
                     currentTransactions.map((t) => (
-                      <tr key={t.id} className="border-t hover:bg-gray-50">
+                      <tr
+                        key={t.id ?? `r${t.ruleId}-${t.date}`}
+                        className={`border-t hover:bg-gray-50 ${t.id ? "" : "italic text-gray-600"}`}
+                      >
                         <td className="p-2 whitespace-nowrap">
                           {new Date(t.date).toLocaleDateString()}
                         </td>
-                        <td className="p-2">{t.title}</td>
+                        <td className="p-2">
+                          {t.title}
+                          {!t.id && (
+                            <span className="ml-2 text-xs text-blue-600">(recurring)</span>
+                          )}
+                        </td>
                         <td className="p-2">{t.category}</td>
                         <td className="p-2">{t.type}</td>
                         <td className="p-2 whitespace-nowrap">₹{t.amount}</td>
                         <td className="p-2 flex gap-2">
+                          {!t.id && (
+                            <button
+                              onClick={() => handleConfirm(t)}
+                              className="px-2 py-1 bg-green-500 text-white rounded hover:bg-green-600"
+                            >
+                              Confirm
+                            </button>
+                          )}
                           <button
                             onClick={() => handleEdit(t)}
                             className="px-2 py-1 bg-yellow-400 text-white rounded hover:bg-yellow-500"
@@ -284,7 +358,7 @@ export default function TransactionsPage() {
                             Edit
                           </button>
                           <button
-                            onClick={() => handleDelete(t.id)}
+                            onClick={() => handleDelete(t)}
                             className="px-2 py-1 bg-red-500 text-white rounded hover:bg-red-600"
                           >
                             Delete
@@ -325,6 +399,17 @@ export default function TransactionsPage() {
             </button>
           </div>
 
+          {nextCursor && (
+            <div className="flex justify-center">
+              <button
+                onClick={handleLoadMore}
+                className="px-4 py-2 bg-gray-200 rounded hover:bg-gray-300"
+              >
+                Load more
+              </button>
+            </div>
+          )}
+
           <TransactionModal
             isOpen={modalOpen}
             onClose={() => {